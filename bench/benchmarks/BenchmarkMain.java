@@ -0,0 +1,32 @@
+package benchmarks;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * author: Eyal Styskin
+ * Class name: BenchmarkMain
+ * class operation: runs the benchmarks with the GC profiler, so the allocation rate of every
+ * benchmark (gc.alloc.rate.norm - bytes per operation) is reported next to its time.
+ */
+public class BenchmarkMain {
+    /**
+     * Function Name:main
+     * Function Operation: runs the benchmarks whose names match the first argument (all of them
+     * if there is no argument).
+     *
+     * @param args - a regular expression of the benchmarks to run
+     * @throws RunnerException - if the benchmarks failed to run
+     */
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : "benchmarks\\..*Benchmark.*";
+        Options options = new OptionsBuilder()
+                .include(include)
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,150 @@
+package benchmarks;
+
+import geometry.Line;
+import geometry.Point;
+import geometry.Rectangle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import others.CollisionInfo;
+import others.GameEnvironment;
+import sprites.Block;
+import sprites.BlockField;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: CollisionBenchmark
+ * class operation: measures GameEnvironment.getClosestCollision with blockCount bricks laid in rows over
+ * the game's screen (inside the borders), for trajectories of trajectoryLength pixels in random directions.
+ * the bricks are kept once in a BlockField (the indexed environment of the game) and once as plain
+ * collidables (a linear scan over all of them), so both can be compared on the same trajectories.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollisionBenchmark {
+    private static final int TRAJECTORIES = 1024;
+    private static final double BALL_RADIUS = 5;
+
+    @Param({"10", "100", "1000", "10000", "100000"})
+    public int blockCount;
+
+    @Param({"5", "50", "500"})
+    public double trajectoryLength;
+
+    private GameEnvironment indexed;
+    private GameEnvironment linear;
+    private Line[] lines;
+    private double[] starts;
+    private double[] moves;
+    private int next;
+
+    /**
+     * .
+     * function name: setup
+     * Function Operation: lays the bricks, builds both environments and creates the trajectories
+     * (with a fixed seed).
+     */
+    @Setup
+    public void setup() {
+        this.indexed = new GameEnvironment();
+        this.linear = new GameEnvironment();
+        BlockField field = new BlockField();
+        int cols = (int) Math.ceil(Math.sqrt(this.blockCount * 750.0 / 400.0));
+        int rows = (int) Math.ceil((double) this.blockCount / cols);
+        double width = 750.0 / cols;
+        double height = 400.0 / rows;
+        for (int i = 0; i < this.blockCount; ++i) {
+            double x = 25 + (i % cols) * width;
+            double y = 45 + (i / cols) * height;
+            field.add(x, y, width, height, 1, 0);
+            this.linear.addCollidable(new Block(new Rectangle(new Point(x, y), width, height)));
+        }
+        this.indexed.setBlockField(field);
+        this.indexed.buildIndex();
+
+        this.lines = new Line[TRAJECTORIES];
+        this.starts = new double[TRAJECTORIES * 2];
+        this.moves = new double[TRAJECTORIES * 2];
+        Random random = new Random(1);
+        for (int i = 0; i < TRAJECTORIES; ++i) {
+            double x = 25 + random.nextDouble() * 750;
+            double y = 45 + random.nextDouble() * 545;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double dx = Math.cos(angle) * this.trajectoryLength;
+            double dy = Math.sin(angle) * this.trajectoryLength;
+            this.lines[i] = new Line(x, y, x + dx, y + dy);
+            this.starts[2 * i] = x;
+            this.starts[2 * i + 1] = y;
+            this.moves[2 * i] = dx;
+            this.moves[2 * i + 1] = dy;
+        }
+    }
+
+    /**
+     * .
+     * function name: nextIndex
+     * Function Operation: returns the index of the next trajectory (cycles over all of them).
+     *
+     * @return the index
+     */
+    private int nextIndex() {
+        this.next = (this.next + 1) & (TRAJECTORIES - 1);
+        return this.next;
+    }
+
+    /**
+     * .
+     * function name: indexedLine
+     * Function Operation: the Line query of the game's (indexed) environment.
+     *
+     * @return the closest collision (or null)
+     */
+    @Benchmark
+    public CollisionInfo indexedLine() {
+        return this.indexed.getClosestCollision(this.lines[this.nextIndex()]);
+    }
+
+    /**
+     * .
+     * function name: indexedBall
+     * Function Operation: the swept ball query of the game's (indexed) environment.
+     *
+     * @return the closest collision (or null)
+     */
+    @Benchmark
+    public CollisionInfo indexedBall() {
+        int i = this.nextIndex();
+        return this.indexed.getClosestCollision(this.starts[2 * i], this.starts[2 * i + 1],
+                this.moves[2 * i], this.moves[2 * i + 1], BALL_RADIUS);
+    }
+
+    /**
+     * .
+     * function name: linearBall
+     * Function Operation: the swept ball query, scanning all the bricks as plain collidables.
+     *
+     * @return the closest collision (or null)
+     */
+    @Benchmark
+    public CollisionInfo linearBall() {
+        int i = this.nextIndex();
+        return this.linear.getClosestCollision(this.starts[2 * i], this.starts[2 * i + 1],
+                this.moves[2 * i], this.moves[2 * i + 1], BALL_RADIUS);
+    }
+}
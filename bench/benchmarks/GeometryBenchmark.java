@@ -0,0 +1,141 @@
+package benchmarks;
+
+import geometry.Line;
+import geometry.Point;
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: GeometryBenchmark
+ * class operation: measures the geometry tests of a single trajectory against a single rectangle -
+ * the Line based tests (intersectionWith, intersectionPoints, closestIntersectionToStartOfLine)
+ * and the slab test that replaced them (segmentEntry).
+ * the trajectories start around a 50x20 block and are trajectoryLength long, in random directions.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GeometryBenchmark {
+    private static final int TRAJECTORIES = 1024;
+
+    @Param({"5", "50", "500"})
+    public double trajectoryLength;
+
+    private Rectangle rectangle;
+    private Line edge;
+    private Line[] lines;
+    private double[] starts;
+    private double[] moves;
+    private SegmentHit hit;
+    private int next;
+
+    /**
+     * .
+     * function name: setup
+     * Function Operation: creates the block and the trajectories (with a fixed seed).
+     */
+    @Setup
+    public void setup() {
+        this.rectangle = new Rectangle(new Point(375, 290), 50, 20);
+        this.edge = new Line(375, 290, 425, 290);
+        this.lines = new Line[TRAJECTORIES];
+        this.starts = new double[TRAJECTORIES * 2];
+        this.moves = new double[TRAJECTORIES * 2];
+        Random random = new Random(1);
+        for (int i = 0; i < TRAJECTORIES; ++i) {
+            double x = 400 + (random.nextDouble() * 2 - 1) * this.trajectoryLength;
+            double y = 300 + (random.nextDouble() * 2 - 1) * this.trajectoryLength;
+            double angle = random.nextDouble() * 2 * Math.PI;
+            double dx = Math.cos(angle) * this.trajectoryLength;
+            double dy = Math.sin(angle) * this.trajectoryLength;
+            this.lines[i] = new Line(x, y, x + dx, y + dy);
+            this.starts[2 * i] = x;
+            this.starts[2 * i + 1] = y;
+            this.moves[2 * i] = dx;
+            this.moves[2 * i + 1] = dy;
+        }
+        this.hit = new SegmentHit();
+    }
+
+    /**
+     * .
+     * function name: nextIndex
+     * Function Operation: returns the index of the next trajectory (cycles over all of them).
+     *
+     * @return the index
+     */
+    private int nextIndex() {
+        this.next = (this.next + 1) & (TRAJECTORIES - 1);
+        return this.next;
+    }
+
+    /**
+     * .
+     * function name: lineIntersectionWith
+     * Function Operation: a trajectory against one edge of the block.
+     *
+     * @return the intersection point (or null)
+     */
+    @Benchmark
+    public Point lineIntersectionWith() {
+        return this.lines[this.nextIndex()].intersectionWith(this.edge);
+    }
+
+    /**
+     * .
+     * function name: rectangleIntersectionPoints
+     * Function Operation: a trajectory against the four edges of the block.
+     *
+     * @return the list of intersection points
+     */
+    @Benchmark
+    public List rectangleIntersectionPoints() {
+        return this.rectangle.intersectionPoints(this.lines[this.nextIndex()]);
+    }
+
+    /**
+     * .
+     * function name: closestIntersectionToStartOfLine
+     * Function Operation: the closest intersection of a trajectory with the block.
+     *
+     * @return the closest point (or null)
+     */
+    @Benchmark
+    public Point closestIntersectionToStartOfLine() {
+        return this.lines[this.nextIndex()].closestIntersectionToStartOfLine(this.rectangle);
+    }
+
+    /**
+     * .
+     * function name: segmentEntry
+     * Function Operation: the slab test of a trajectory (as numbers) against the block.
+     *
+     * @return true if the trajectory enters the block
+     */
+    @Benchmark
+    public boolean segmentEntry() {
+        int i = this.nextIndex();
+        return this.rectangle.segmentEntry(this.starts[2 * i], this.starts[2 * i + 1],
+                this.moves[2 * i], this.moves[2 * i + 1], this.hit);
+    }
+}
@@ -3,7 +3,16 @@ package animation;
 import biuoop.Sleeper;
 import biuoop.DrawSurface;
 import biuoop.GUI;
+import events.FrameEvent;
 import interfaces.Animation;
+import interfaces.InterpolatedSprite;
+import interfaces.SnapshotAnimation;
+import interfaces.Sprite;
+import interfaces.SteppedAnimation;
+import others.FrameTimings;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * .
@@ -12,12 +21,28 @@ import interfaces.Animation;
  * class operation: The AnimationRunner takes an Animation object and runs it.
  * we implement the task-specific information in the Animation object,
  * and run it using the loop in the AnimationRunner class.
+ * in the fixed-timestep mode, a SteppedAnimation's logic runs in fixed steps of real time
+ * (physicsStepsPerSecond), apart from its drawing (framesPerSecond).
+ * the frames are paced by a FramePacer, which counts the frames that missed their deadline.
+ * the runner keeps the FrameTimings of its frames - the time of showing them and their whole length
+ * (the animations add the phases they time themselves). every frame is a FrameEvent of the Flight Recorder.
+ * in the render-thread mode, a SnapshotAnimation's steps run on the calling thread, and its snapshots are
+ * drawn and shown by a render thread, so a slow frame does not delay the steps.
  */
 
 public class AnimationRunner {
     private GUI gui;
     private int framesPerSecond;
     private Sleeper sleeper;
+    private int physicsStepsPerSecond;
+    private int maxCatchUpSteps;
+    private long finishedRuns;
+    private long missedFrames;
+    private FrameTimings timings = new FrameTimings();
+    private boolean renderThread;
+    private boolean interpolate;
+    private InputRecorder recorder;
+    private RenderLoop renderLoop;
 
     /**
      * Function Operation: constructor - setting the GUI, framesPerSecond and Sleeper
@@ -25,9 +50,21 @@ public class AnimationRunner {
      */
 
     public AnimationRunner() {
-        this.gui = new GUI("Arkanoid Game", 800, 600);
-        this.framesPerSecond = 60;
-        this.sleeper = new Sleeper();
+        this(new GUI("Arkanoid Game", 800, 600), 60, new Sleeper());
+    }
+
+    /**
+     * Function Operation: constructor - setting the given GUI, framesPerSecond and Sleeper
+     * members. used by runners that do not open a window (the gui may be null).
+     *
+     * @param gui             - the window to draw on (or null)
+     * @param framesPerSecond - number of frames in a second
+     * @param sleeper         - Sleeper used for the pacing of the frames
+     */
+    protected AnimationRunner(GUI gui, int framesPerSecond, Sleeper sleeper) {
+        this.gui = gui;
+        this.framesPerSecond = framesPerSecond;
+        this.sleeper = sleeper;
     }
 
     /**
@@ -42,6 +79,27 @@ public class AnimationRunner {
         return gui;
     }
 
+    /**
+     * Function Name:getFramesPerSecond
+     * Function Operation: getter - getting the framesPerSecond member
+     *
+     * @return - number of frames in a second
+     */
+    public int getFramesPerSecond() {
+        return this.framesPerSecond;
+    }
+
+    /**
+     * Function Name:getSleeper
+     * Function Operation: getter - getting the Sleeper member, so animations that wait
+     * use the same Sleeper as the runner.
+     *
+     * @return - Sleeper type
+     */
+    public Sleeper getSleeper() {
+        return this.sleeper;
+    }
+
     /**
      * Function Name:run
      * Function Operation: runs the game (with doOneFrame method of the animation),
@@ -51,21 +109,460 @@ public class AnimationRunner {
      */
 
     public void run(Animation animation) {
-        int millisecondsPerFrame = 1000 / framesPerSecond;
-
-        while (true) {
-            long startTime = System.currentTimeMillis(); // timing
-            DrawSurface d = gui.getDrawSurface();
-            animation.doOneFrame(d, 1.0 / framesPerSecond);
-            if (animation.shouldStop()) {
-                return;
+        RenderLoop renderer = this.renderLoop;
+        if (renderer != null) { // runs inside a step of the render-thread mode, the window is needed here
+            renderer.pause();
+        }
+        try {
+            if (this.renderThread && animation instanceof SnapshotAnimation) {
+                this.runWithRenderThread((SnapshotAnimation) animation);
+            } else if (this.physicsStepsPerSecond > 0 && animation instanceof SteppedAnimation) {
+                this.runFixedSteps((SteppedAnimation) animation);
+            } else {
+                this.runFrames(animation);
+            }
+        } finally {
+            this.finishedRuns++;
+            if (renderer != null) {
+                renderer.resume();
+            }
+        }
+    }
+
+    /**
+     * Function Name:setFixedTimestep
+     * Function Operation: sets the fixed-timestep mode. the logic of a SteppedAnimation is run
+     * physicsStepsPerSecond times in a second of real time, apart from the frames rate. if the steps are late
+     * (a long frame), up to maxCatchUpSteps steps are run before the next frame, and the rest of the late
+     * time is dropped (the game slows down instead of stopping to draw).
+     *
+     * @param stepsPerSecond - number of logic steps in a second, or 0 to stop the fixed-timestep mode
+     * @param maxSteps       - the most logic steps to run between two frames (at least 1)
+     */
+    public void setFixedTimestep(int stepsPerSecond, int maxSteps) {
+        this.physicsStepsPerSecond = stepsPerSecond;
+        this.maxCatchUpSteps = Math.max(1, maxSteps);
+    }
+
+    /**
+     * Function Name:getTimings
+     * Function Operation: getter - the timings of the frames of this runner.
+     *
+     * @return - FrameTimings type
+     */
+    public FrameTimings getTimings() {
+        return this.timings;
+    }
+
+    /**
+     * Function Name:getMissedFrames
+     * Function Operation: getter - the number of frames (of all the runs so far) that ended after their
+     * deadline, and were shown late.
+     *
+     * @return number of missed frames
+     */
+    public long getMissedFrames() {
+        return this.missedFrames;
+    }
+
+    /**
+     * Function Name:setInputRecorder
+     * Function Operation: sets the recorder of the keyboard queries. a tick of the recorder is started before
+     * every frame or logic step, so the queries are kept with the frame or step that asked them.
+     *
+     * @param inputRecorder - the recorder, or null to stop recording
+     */
+    public void setInputRecorder(InputRecorder inputRecorder) {
+        this.recorder = inputRecorder;
+    }
+
+    /**
+     * Function Name:startTick
+     * Function Operation: starts a tick of the input recorder (if one is set), before a frame or a step.
+     *
+     * @param animation - the animation that runs the frame or step
+     * @param dt        - the dt of the frame or step
+     */
+    protected void startTick(Animation animation, double dt) {
+        if (this.recorder != null) {
+            this.recorder.startTick(animation, dt);
+        }
+    }
+
+    /**
+     * Function Name:setInterpolation
+     * Function Operation: sets the interpolation of the moving objects. in the fixed-timestep mode every frame
+     * is drawn with them at the part of the way of the last step that matches the time left in the accumulator,
+     * and in the render-thread mode at the part of a step's length that passed since the snapshot was handed
+     * over. so the movement is smooth when the frames are drawn more often than the steps run.
+     *
+     * @param blend - true to draw the moving objects between the last two steps
+     */
+    public void setInterpolation(boolean blend) {
+        this.interpolate = blend;
+    }
+
+    /**
+     * Function Name:setRenderThread
+     * Function Operation: sets the render-thread mode. the steps of a SnapshotAnimation run on the calling
+     * thread (physicsStepsPerSecond times in a second, or framesPerSecond if the fixed-timestep mode is off),
+     * and after every step its snapshot is handed to a render thread, which draws and shows the newest
+     * snapshot framesPerSecond times in a second.
+     *
+     * @param separate - true to draw on a render thread
+     */
+    public void setRenderThread(boolean separate) {
+        this.renderThread = separate;
+    }
+
+    /**
+     * Function Name:setFramesPerSecond
+     * Function Operation: sets the number of frames drawn in a second.
+     *
+     * @param fps - number of frames in a second
+     */
+    public void setFramesPerSecond(int fps) {
+        this.framesPerSecond = fps;
+    }
+
+    /**
+     * Function Name:runFixedSteps
+     * Function Operation: the loop of the fixed-timestep mode. the real time that passed is added to
+     * an accumulator, and the animation's logic is stepped in fixed increments while the accumulator holds
+     * a full step. then the frame is drawn once, and the loop waits for the frame's deadline.
+     * time spent in animations the steps run themselves (like the pause screen) is not played again.
+     *
+     * @param animation - SteppedAnimation type animation, runs it
+     */
+    private void runFixedSteps(SteppedAnimation animation) {
+        FramePacer pacer = new FramePacer(framesPerSecond, this.sleeper);
+        double stepSeconds = 1.0 / this.physicsStepsPerSecond;
+        double accumulator = 0;
+        long previousTime = System.nanoTime();
+
+        try {
+            while (true) {
+                FrameEvent event = new FrameEvent();
+                event.begin();
+                this.timings.startFrame();
+                long startTime = System.nanoTime(); // timing
+                accumulator += (startTime - previousTime) / 1e9;
+                previousTime = startTime;
+                int steps = 0;
+                long runs = this.finishedRuns;
+                while (accumulator >= stepSeconds && steps < this.maxCatchUpSteps) {
+                    this.startTick(animation, stepSeconds);
+                    animation.step(stepSeconds);
+                    accumulator -= stepSeconds;
+                    steps++;
+                    if (animation.shouldStop()) {
+                        return;
+                    }
+                    if (this.finishedRuns != runs) { // another animation ran inside the step
+                        accumulator = 0;
+                        previousTime = System.nanoTime();
+                        pacer.reset();
+                        break;
+                    }
+                }
+                accumulator = Math.min(accumulator, stepSeconds); // drop the time the steps could not catch up
+                DrawSurface d = gui.getDrawSurface();
+                if (this.interpolate) {
+                    animation.render(d, Math.min(1, accumulator / stepSeconds));
+                } else {
+                    animation.render(d);
+                }
+                this.show(d);
+                this.endFrame(event, animation, steps, pacer);
+            }
+        } finally {
+            this.missedFrames += pacer.getMissedDeadlines();
+        }
+    }
+
+    /**
+     * Function Name:runWithRenderThread
+     * Function Operation: the loop of the render-thread mode. starts a render thread, and then runs the
+     * animation's steps on the frames of a FramePacer of the steps' rate, handing the snapshot of every step
+     * to the render thread. the render thread is stopped when the animation stops.
+     *
+     * @param animation - SnapshotAnimation type animation, runs it
+     */
+    private void runWithRenderThread(SnapshotAnimation animation) {
+        int stepsPerSecond = this.physicsStepsPerSecond > 0 ? this.physicsStepsPerSecond : this.framesPerSecond;
+        FramePacer pacer = new FramePacer(stepsPerSecond, this.sleeper);
+        double dt = pacer.getFramePeriod() / 1e9;
+        RenderLoop renderer = new RenderLoop(animation.getClass().getSimpleName(), pacer.getFramePeriod());
+        renderer.publish(animation.snapshot(), 0);
+        Thread thread = new Thread(renderer, "render");
+        thread.setDaemon(true);
+        this.renderLoop = renderer;
+        thread.start();
+        try {
+            while (true) {
+                long runs = this.finishedRuns;
+                this.startTick(animation, dt);
+                animation.step(dt);
+                if (animation.shouldStop()) {
+                    return;
+                }
+                renderer.publish(animation.snapshot(), 1);
+                if (this.finishedRuns != runs) { // another animation ran inside the step
+                    pacer.reset();
+                }
+                pacer.awaitNextFrame();
             }
-            gui.show(d);
-            long usedTime = System.currentTimeMillis() - startTime;
-            long milliSecondLeftToSleep = millisecondsPerFrame - usedTime;
-            if (milliSecondLeftToSleep > 0) {
-                this.sleeper.sleepFor(milliSecondLeftToSleep);
+        } finally {
+            this.renderLoop = null;
+            renderer.stop();
+            try {
+                thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
             }
+            this.missedFrames += pacer.getMissedDeadlines();
+        }
+    }
+
+    /**
+     * Function Name:runFrames
+     * Function Operation: runs the animation's doOneFrame once every frame, with the frame's
+     * length as its dt, until shouldStop method returns true.
+     *
+     * @param animation - Animation type animation, runs it
+     */
+    private void runFrames(Animation animation) {
+        FramePacer pacer = new FramePacer(framesPerSecond, this.sleeper);
+        double dt = pacer.getFramePeriod() / 1e9;
+
+        try {
+            while (true) {
+                FrameEvent event = new FrameEvent();
+                event.begin();
+                this.timings.startFrame();
+                long runs = this.finishedRuns;
+                DrawSurface d = gui.getDrawSurface();
+                this.startTick(animation, dt);
+                animation.doOneFrame(d, dt);
+                if (animation.shouldStop()) {
+                    return;
+                }
+                this.show(d);
+                if (this.finishedRuns != runs) { // another animation ran inside the frame
+                    pacer.reset();
+                }
+                this.endFrame(event, animation, 1, pacer);
+            }
+        } finally {
+            this.missedFrames += pacer.getMissedDeadlines();
+        }
+    }
+
+    /**
+     * Function Name:endFrame
+     * Function Operation: waits for the frame's deadline, records the frame's length, and commits the
+     * frame's event (if the Flight Recorder records it).
+     *
+     * @param event     - the frame's event, begun at the start of the frame
+     * @param animation - the animation of the frame
+     * @param steps     - number of logic steps run in the frame
+     * @param pacer     - the pacer of the frames
+     */
+    private void endFrame(FrameEvent event, Animation animation, int steps, FramePacer pacer) {
+        long missed = pacer.getMissedDeadlines();
+        pacer.awaitNextFrame();
+        this.timings.record(FrameTimings.FRAME, pacer.getLastFrameNanos());
+        if (event.shouldCommit()) {
+            event.set(animation.getClass().getSimpleName(), steps, this.timings.getFrameNanos(FrameTimings.DRAW),
+                    this.timings.getFrameNanos(FrameTimings.UPDATE), this.timings.getFrameNanos(FrameTimings.COLLISION),
+                    this.timings.getFrameNanos(FrameTimings.PRESENT), pacer.getMissedDeadlines() != missed);
+            event.commit();
+        }
+    }
+
+    /**
+     * Function Name:show
+     * Function Operation: shows the frame on the window, and times it.
+     *
+     * @param d - the frame's DrawSurface
+     */
+    private void show(DrawSurface d) {
+        long start = System.nanoTime();
+        gui.show(d);
+        this.timings.record(FrameTimings.PRESENT, System.nanoTime() - start);
+    }
+
+    /**
+     * .
+     * author: Eyal Styskin
+     * Class name: RenderLoop
+     * class operation: the render thread of the render-thread mode. the steps hand it their snapshots through
+     * an AtomicReference (without locks) - a new snapshot replaces the one before if it was not drawn yet, and
+     * every frame the newest snapshot is drawn and shown (or the last one again, if there is no new one).
+     * with interpolation, the moving objects are drawn at the part of a step that passed since the snapshot
+     * was handed over (so they are one step behind, and move smoothly to the snapshot's places).
+     * the loop can be paused while another animation uses the window (like the pause screen).
+     */
+    private class RenderLoop implements Runnable {
+        private AtomicReference<PublishedSnapshot> newest = new AtomicReference<PublishedSnapshot>();
+        private AtomicLong steps = new AtomicLong();
+        private String animationName;
+        private long stepNanos;
+        private volatile boolean running = true;
+        private int pauses;
+        private boolean idle;
+
+        /**
+         * .
+         * Function Operation: constructor - a render loop of the named animation.
+         *
+         * @param animationName - the name of the animation (for the frame events)
+         * @param stepNanos     - the length of a step, in nanoseconds
+         */
+        RenderLoop(String animationName, long stepNanos) {
+            this.animationName = animationName;
+            this.stepNanos = stepNanos;
+        }
+
+        /**
+         * Function Name:publish
+         * Function Operation: hands a new snapshot to the render thread.
+         *
+         * @param snapshot  - the snapshot of the animation
+         * @param stepsDone - number of steps run since the last snapshot
+         */
+        void publish(Sprite snapshot, int stepsDone) {
+            this.steps.addAndGet(stepsDone);
+            this.newest.set(new PublishedSnapshot(snapshot, System.nanoTime()));
+        }
+
+        /**
+         * Function Name:run
+         * Function Operation: draws and shows the newest snapshot every frame, until stopped.
+         */
+        public void run() {
+            FramePacer pacer = new FramePacer(framesPerSecond, sleeper);
+            PublishedSnapshot shown = null;
+            while (this.running) {
+                if (this.waitWhilePaused()) {
+                    pacer.reset();
+                    continue;
+                }
+                FrameEvent event = new FrameEvent();
+                event.begin();
+                PublishedSnapshot snapshot = this.newest.getAndSet(null);
+                if (snapshot != null) {
+                    shown = snapshot;
+                }
+                long drawNanos = 0;
+                long presentNanos = 0;
+                if (shown != null) {
+                    DrawSurface d = gui.getDrawSurface();
+                    long start = System.nanoTime();
+                    if (interpolate && shown.sprite instanceof InterpolatedSprite) {
+                        double alpha = Math.min(1, (start - shown.publishedNanos) / (double) this.stepNanos);
+                        ((InterpolatedSprite) shown.sprite).drawOn(d, alpha);
+                    } else {
+                        shown.sprite.drawOn(d);
+                    }
+                    drawNanos = System.nanoTime() - start;
+                    timings.recordHistogram(FrameTimings.DRAW, drawNanos); // the frame's sums are the steps'
+                    start = System.nanoTime();
+                    gui.show(d);
+                    presentNanos = System.nanoTime() - start;
+                    timings.recordHistogram(FrameTimings.PRESENT, presentNanos);
+                }
+                long missed = pacer.getMissedDeadlines();
+                pacer.awaitNextFrame();
+                timings.recordHistogram(FrameTimings.FRAME, pacer.getLastFrameNanos());
+                if (event.shouldCommit()) {
+                    event.set(this.animationName, (int) this.steps.getAndSet(0), drawNanos, 0, 0, presentNanos,
+                            pacer.getMissedDeadlines() != missed);
+                    event.commit();
+                }
+            }
+            missedFrames += pacer.getMissedDeadlines(); // the runner reads it after joining this thread
+        }
+
+        /**
+         * Function Name:waitWhilePaused
+         * Function Operation: if the loop is paused, waits (idle) until it is resumed or stopped.
+         *
+         * @return true if the loop waited
+         */
+        private synchronized boolean waitWhilePaused() {
+            if (this.pauses == 0) {
+                return false;
+            }
+            this.idle = true;
+            this.notifyAll();
+            while (this.pauses > 0 && this.running) {
+                try {
+                    this.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    this.running = false;
+                }
+            }
+            this.idle = false;
+            return true;
+        }
+
+        /**
+         * Function Name:pause
+         * Function Operation: pauses the loop, and waits until the render thread stopped drawing.
+         */
+        synchronized void pause() {
+            this.pauses++;
+            while (!this.idle && this.running) {
+                try {
+                    this.wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+            }
+        }
+
+        /**
+         * Function Name:resume
+         * Function Operation: resumes the loop after pause.
+         */
+        synchronized void resume() {
+            this.pauses--;
+            this.notifyAll();
+        }
+
+        /**
+         * Function Name:stop
+         * Function Operation: stops the loop (it ends after its current frame).
+         */
+        synchronized void stop() {
+            this.running = false;
+            this.notifyAll();
+        }
+    }
+
+    /**
+     * .
+     * author: Eyal Styskin
+     * Class name: PublishedSnapshot
+     * class operation: a snapshot handed to the render thread, with the time it was handed over.
+     */
+    private static class PublishedSnapshot {
+        private final Sprite sprite;
+        private final long publishedNanos;
+
+        /**
+         * .
+         * Function Operation: constructor - keeps the snapshot and the time.
+         *
+         * @param sprite         - the snapshot
+         * @param publishedNanos - the time it was handed over (System.nanoTime)
+         */
+        PublishedSnapshot(Sprite sprite, long publishedNanos) {
+            this.sprite = sprite;
+            this.publishedNanos = publishedNanos;
         }
     }
 }
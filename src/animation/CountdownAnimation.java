@@ -1,7 +1,6 @@
 package animation;
 
 import biuoop.DrawSurface;
-import biuoop.Sleeper;
 import interfaces.Animation;
 import others.SpriteCollection;
 
@@ -17,18 +16,22 @@ import java.awt.Color;
  * a countdown from countFrom back to 1, where each number will
  * appear on the screen for (numOfSeconds / countFrom) secods, before
  * it is replaced with the next one.
+ * the countdown is a Timeline advanced by the dt of the frames - it never sleeps, so the frames (and the
+ * loading in the background) go on while it runs.
  */
 public class CountdownAnimation implements Animation {
+    private static final double BIG_SIZE = 110;
+    private static final double SIZE = 80;
     private SpriteCollection gameScreen;
-    private double duration;
-    private double countFrom;
-    private int counter;
-    private boolean stop;
+    private Timeline timeline;
+    private Tween count;
+    private Tween[] sizes;
 
 
     /**
-     * Function Operation: constructor - setting the gameScreen, duration,
-     * countFrom,counter and stop members.
+     * Function Operation: constructor - setting the gameScreen, and the timeline of the countdown:
+     * the number counts down from countFrom to 0 during numOfSeconds, and every number shrinks a little
+     * after it appears.
      *
      * @param numOfSeconds - double type number of seconds
      * @param countFrom    - integer the number to count from
@@ -37,10 +40,14 @@ public class CountdownAnimation implements Animation {
 
     public CountdownAnimation(double numOfSeconds, int countFrom, SpriteCollection gameScreen) {
         this.gameScreen = gameScreen;
-        this.duration = numOfSeconds;
-        this.countFrom = countFrom;
-        this.counter = countFrom;
-        this.stop = false;
+        this.timeline = new Timeline();
+        this.count = this.timeline.add(new Tween(countFrom, 0, numOfSeconds));
+        double numberTime = numOfSeconds / countFrom;
+        this.sizes = new Tween[countFrom + 1];
+        for (int i = countFrom; i > 0; --i) {
+            this.sizes[i] = this.timeline.add(new Tween(BIG_SIZE, SIZE, numberTime / 2,
+                    (countFrom - i) * numberTime, true));
+        }
     }
 
 
@@ -48,36 +55,27 @@ public class CountdownAnimation implements Animation {
      * receive a DrawSurface, is in charge of the logic of the
      * animation, displays countdown from a given number before the game starts.
      * @param d - Drawsurface to draw on
-     * @param dt - the frames per second (1/60)
+     * @param dt - the length of the frame, in seconds
      */
 
     public void doOneFrame(DrawSurface d, double dt) {
         this.gameScreen.drawAllOn(d);
-        Sleeper sleeper = new Sleeper();
-
-        d.setColor(Color.WHITE);
-        d.drawText(d.getWidth() / 2, (d.getHeight() / 2) + 50, Integer.toString(this.counter), 80);
-        if (this.counter != this.countFrom) {
-            sleeper.sleepFor((long) ((this.duration * 1000 / this.countFrom)));
-        }
-        this.counter--;
-        if (this.counter < 0) {
-            d.drawText(d.getWidth() / 2, (d.getHeight() / 2) + 50, "GO!", 80);
-            this.stop = true;
+        int number = (int) Math.ceil(this.count.getValue());
+        if (number > 0) {
+            d.setColor(Color.WHITE);
+            d.drawText(d.getWidth() / 2, (d.getHeight() / 2) + 50, Integer.toString(number),
+                    (int) this.sizes[number].getValue());
         }
+        this.timeline.advance(dt);
     }
 
     /**
      * Function Name: shouldStop
-     * Function Operation: if the counter member smaller then 0, stop the animation.
+     * Function Operation: stop the animation when the timeline of the countdown ended.
      *
      * @return boolean - true or false
      */
     public boolean shouldStop() {
-        if (this.counter < 0) {
-            return this.stop;
-        }
-        return false;
+        return this.timeline.isFinished();
     }
 }
-
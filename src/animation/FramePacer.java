@@ -0,0 +1,111 @@
+package animation;
+
+import biuoop.Sleeper;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: FramePacer
+ * class operation: keeps the frames of a loop on a fixed rate, measured in nanoseconds (System.nanoTime).
+ * every frame has a deadline, one frame period after the deadline of the last frame (not after the time the
+ * last frame really ended), so an early or late frame does not move the frames after it.
+ * waiting for a deadline sleeps most of the time with the Sleeper, and spins (yielding the cpu) the last
+ * SPIN_NANOS before it, since a sleep can end a millisecond or more after it was asked to.
+ * a frame that ends after its deadline is counted as a missed deadline; if it is late by more than a whole
+ * frame, the deadlines start again from the current time instead of rushing frames to catch up.
+ */
+public class FramePacer {
+    private static final long SPIN_NANOS = 2000000;
+    private Sleeper sleeper;
+    private long framePeriod;
+    private long deadline;
+    private long lastFrameStart;
+    private long lastFrameNanos;
+    private long missedDeadlines;
+
+    /**
+     * .
+     * Function Operation: constructor - a pacer of the given rate, which sleeps with the given Sleeper.
+     *
+     * @param framesPerSecond - number of frames in a second
+     * @param sleeper         - Sleeper used for the coarse part of the waiting
+     */
+    public FramePacer(int framesPerSecond, Sleeper sleeper) {
+        this.sleeper = sleeper;
+        this.framePeriod = 1000000000L / framesPerSecond;
+        this.reset();
+    }
+
+    /**
+     * .
+     * function name: reset
+     * Function Operation: starts the frames again from the current time (the next deadline is one frame
+     * period from now), without counting a missed deadline. used after the loop was stopped for a while.
+     */
+    public void reset() {
+        this.lastFrameStart = System.nanoTime();
+        this.deadline = this.lastFrameStart + this.framePeriod;
+    }
+
+    /**
+     * .
+     * function name: awaitNextFrame
+     * Function Operation: waits until the deadline of the current frame, and moves the deadline to the
+     * next frame. if the deadline already passed, does not wait and counts a missed deadline.
+     */
+    public void awaitNextFrame() {
+        long now = System.nanoTime();
+        long remaining = this.deadline - now;
+        if (remaining < 0) {
+            this.missedDeadlines++;
+            if (-remaining > this.framePeriod) { // too late to catch up
+                this.deadline = now;
+            }
+        } else {
+            if (remaining > SPIN_NANOS) {
+                this.sleeper.sleepFor((remaining - SPIN_NANOS) / 1000000);
+            }
+            while (System.nanoTime() < this.deadline) {
+                Thread.yield();
+            }
+            now = System.nanoTime();
+        }
+        this.lastFrameNanos = now - this.lastFrameStart;
+        this.lastFrameStart = now;
+        this.deadline += this.framePeriod;
+    }
+
+    /**
+     * .
+     * function name: getFramePeriod
+     * Function Operation: getter - the length of a frame.
+     *
+     * @return the frame period, in nanoseconds
+     */
+    public long getFramePeriod() {
+        return this.framePeriod;
+    }
+
+    /**
+     * .
+     * function name: getLastFrameNanos
+     * Function Operation: getter - the measured length of the last frame (from the start of the frame
+     * before it until the start of it).
+     *
+     * @return the last frame's length, in nanoseconds
+     */
+    public long getLastFrameNanos() {
+        return this.lastFrameNanos;
+    }
+
+    /**
+     * .
+     * function name: getMissedDeadlines
+     * Function Operation: getter - the number of frames that ended after their deadline.
+     *
+     * @return number of missed deadlines
+     */
+    public long getMissedDeadlines() {
+        return this.missedDeadlines;
+    }
+}
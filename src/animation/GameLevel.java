@@ -3,26 +3,35 @@ package animation;
 import biuoop.GUI;
 import biuoop.DrawSurface;
 import biuoop.KeyboardSensor;
+import events.LevelLoadEvent;
 import geometry.Point;
 import geometry.Rectangle;
-import interfaces.Animation;
+import interfaces.BrickProvider;
 import interfaces.Collidable;
 import interfaces.LevelInformation;
+import interfaces.SnapshotAnimation;
 import interfaces.Sprite;
 import levels.BlockFiller;
 import listeners.BallRemover;
 import listeners.BlockRemover;
 import listeners.ScoreTrackingListener;
 import others.Counter;
+import others.FrameTimings;
 import others.GameEnvironment;
 import others.SpriteCollection;
+import others.Velocity;
+import others.WorldSnapshot;
 import sprites.Ball;
 import sprites.Block;
+import sprites.BlockField;
 import sprites.Paddle;
 import sprites.NameIndicator;
+import sprites.TimingsOverlay;
 
 
 import java.awt.Color;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.TreeMap;
 
@@ -35,7 +44,7 @@ import java.util.TreeMap;
  * level, playing the turn, and counting the number of blocks/lives/balls and score.
  */
 
-public class GameLevel implements Animation {
+public class GameLevel implements SnapshotAnimation {
     private Counter blocksNum;
     private Counter ballsNum;
     private Counter score;
@@ -46,8 +55,13 @@ public class GameLevel implements Animation {
     private AnimationRunner runner;
     private boolean running;
     private Paddle paddle;
+    private List<Ball> balls;
     private KeyboardSensor keyboard;
     private LevelInformation info;
+    private FrameTimings timings;
+    private TimingsOverlay overlay;
+    private BlockField blockField;
+    private int[] startHitPoints;
 
     /**
      * .
@@ -71,9 +85,12 @@ public class GameLevel implements Animation {
         this.numOfLives = numOfLives;
         this.sprites = new SpriteCollection();
         this.environment = new GameEnvironment();
+        this.balls = new ArrayList<Ball>();
         this.runner = ar;
         this.keyboard = ks;
         this.gui = ar.getGui();
+        this.timings = ar.getTimings();
+        this.overlay = new TimingsOverlay(this.timings, ks, "t");
     }
 
     /**
@@ -87,6 +104,18 @@ public class GameLevel implements Animation {
         this.environment.addCollidable(c);
     }
 
+    /**
+     * .
+     * function name: addMovingCollidable
+     * Function Operation: adds the object given to the collidables that move
+     * during the game (kept out of the environment's grid).
+     *
+     * @param c - new collidable type object to be added
+     */
+    public void addMovingCollidable(Collidable c) {
+        this.environment.addMovingCollidable(c);
+    }
+
     /**
      * .
      * function name: addSprite
@@ -120,6 +149,50 @@ public class GameLevel implements Animation {
         this.sprites.removeSprite(s);
     }
 
+    /**
+     * .
+     * function name: removeBall
+     * Function Operation: removes the ball from the list of balls in play.
+     *
+     * @param b - Ball type object
+     */
+    public void removeBall(Ball b) {
+        this.balls.remove(b);
+    }
+
+    /**
+     * .
+     * function name: getBalls
+     * Function Operation: getter for the balls in play
+     *
+     * @return - list of the balls in play
+     */
+    public List<Ball> getBalls() {
+        return this.balls;
+    }
+
+    /**
+     * .
+     * function name: getPaddle
+     * Function Operation: getter for this paddle member
+     *
+     * @return - the paddle of the level
+     */
+    public Paddle getPaddle() {
+        return this.paddle;
+    }
+
+    /**
+     * .
+     * function name: getBlockField
+     * Function Operation: getter for the field of the level's blocks (null before the level is initialized)
+     *
+     * @return - the BlockField of the level
+     */
+    public BlockField getBlockField() {
+        return this.blockField;
+    }
+
     /**
      * .
      * function name: getGameEnvironment
@@ -164,14 +237,39 @@ public class GameLevel implements Animation {
         return gui;
     }
 
+    /**
+     * .
+     * function name: getKeyboard
+     * Function Operation: getter for this KeyboardSensor member
+     *
+     * @return - the KeyboardSensor the level reads the player's keys from
+     */
+    public KeyboardSensor getKeyboard() {
+        return this.keyboard;
+    }
+
+    /**
+     * .
+     * function name: getLevelInformation
+     * Function Operation: getter for this LevelInformation member
+     *
+     * @return - the information of the played level
+     */
+    public LevelInformation getLevelInformation() {
+        return this.info;
+    }
+
     /**
      * .
      * function name: initialize
      * Function Operation: Initialize a new GameLevel: create the Blocks(in rows) ,
      * paddle, listeners: for block,ball and score. all according to the LevelInfo
-     * (current level played) that set in the constructor.
+     * (current level played) that set in the constructor. the initialization is a LevelLoadEvent of the
+     * Flight Recorder.
      */
     public void initialize() {
+        LevelLoadEvent event = new LevelLoadEvent();
+        event.begin();
         this.blocksNum.increase(this.info.numberOfBlocksToRemove());
         double padSpeed = this.info.paddleSpeed();
         this.paddle = (new Paddle(new Rectangle(
@@ -184,11 +282,26 @@ public class GameLevel implements Animation {
         NameIndicator nameIndicator = new NameIndicator(this.info.levelName());
         nameIndicator.addToGame(this);
         this.borderBlocks(); // create border blocks and add them to game
-        for (int i = 0; i < this.info.blocks().size(); ++i) {
-            Block b = this.info.blocks().get(i);
-            b.addHitListener(blockRemover);
-            b.addHitListener(scoreTrackingListener);
-            b.addToGame(this);
+        this.blockField = new BlockField(); // the level's blocks, kept as arrays
+        this.blockField.addHitListener(blockRemover);
+        this.blockField.addHitListener(scoreTrackingListener);
+        if (this.info instanceof BrickProvider) { // added straight to the field's arrays
+            ((BrickProvider) this.info).addBricksTo(this.blockField);
+        } else {
+            List<Block> blocks = this.info.blocks();
+            for (int i = 0; i < blocks.size(); ++i) {
+                this.blockField.add(blocks.get(i));
+            }
+        }
+        this.blockField.addToGame(this);
+        this.startHitPoints = new int[this.blockField.size()]; // keyframes keep only the bricks that changed
+        for (int i = 0; i < this.startHitPoints.length; ++i) {
+            this.startHitPoints[i] = this.blockField.getHitPoints(i);
+        }
+        this.environment.buildIndex(); // index the level's blocks for collision queries
+        if (event.shouldCommit()) {
+            event.set(this.info.levelName(), this.blockField.size());
+            event.commit();
         }
     }
 
@@ -228,13 +341,27 @@ public class GameLevel implements Animation {
      */
     private void createBallsOnTopOfPaddle() {
         for (int i = 0; i < this.info.numberOfBalls(); ++i) {
-            Ball ball = new Ball(new Point(400, 564), 5, Color.WHITE); //first ball
-            ball.setVelocity(this.info.initialBallVelocities().get(i));
-            ball.addToGame(this);
-            this.ballsNum.increase(1);
+            this.createBall(new Point(400, 564), this.info.initialBallVelocities().get(i));
         }
     }
 
+    /**
+     * .
+     * function name: createBall
+     * Function Operation: creates a ball in the given place, with the given velocity, and adds it to the game
+     * and to the balls in play.
+     *
+     * @param center   - the center of the ball
+     * @param velocity - the velocity of the ball
+     */
+    private void createBall(Point center, Velocity velocity) {
+        Ball ball = new Ball(center, 5, Color.WHITE);
+        ball.setVelocity(velocity);
+        ball.addToGame(this);
+        this.balls.add(ball);
+        this.ballsNum.increase(1);
+    }
+
     /**
      * function name: playOneTurn
      * Function Operation: plays one turn of the game. creates the balls, runs the countdown
@@ -243,11 +370,96 @@ public class GameLevel implements Animation {
     public void playOneTurn() {
         this.createBallsOnTopOfPaddle(); //create balls on top of paddle
         this.runner.run(new CountdownAnimation(3, 3, this.sprites)); // countdown before turn starts.
-        this.running = true;
+        this.resumeTurn();
+    }
 
+    /**
+     * function name: resumeTurn
+     * Function Operation: runs the logic of the game until the turn ends - after the countdown, or in the middle
+     * of a turn that was restored from a keyframe.
+     */
+    public void resumeTurn() {
+        this.running = true;
         this.runner.run(this);
     }
 
+    /**
+     * function name: keyframe
+     * Function Operation: returns the state of the level in the middle of a turn - the counters, the paddle's
+     * place, the balls, and the bricks that changed since the level started.
+     *
+     * @return the keyframe (without its tick and level index)
+     */
+    public Keyframe keyframe() {
+        double[] ballValues = new double[this.balls.size() * 4];
+        for (int i = 0; i < this.balls.size(); ++i) {
+            Ball ball = this.balls.get(i);
+            ballValues[i * 4] = ball.getCenter().getX();
+            ballValues[i * 4 + 1] = ball.getCenter().getY();
+            ballValues[i * 4 + 2] = ball.getVelocity().getDx();
+            ballValues[i * 4 + 3] = ball.getVelocity().getDy();
+        }
+        int changed = 0;
+        for (int i = 0; i < this.startHitPoints.length; ++i) {
+            if (this.isChanged(i)) {
+                changed++;
+            }
+        }
+        int[] bricks = new int[changed];
+        int[] brickHits = new int[changed];
+        boolean[] brickAlive = new boolean[changed];
+        changed = 0;
+        for (int i = 0; i < this.startHitPoints.length; ++i) {
+            if (this.isChanged(i)) {
+                bricks[changed] = i;
+                brickHits[changed] = this.blockField.getHitPoints(i);
+                brickAlive[changed] = this.blockField.isAlive(i);
+                changed++;
+            }
+        }
+        Point paddleCorner = this.paddle.getCollisionRectangle().getUpperLeft();
+        return new Keyframe(this.score.getValue(), this.numOfLives.getValue(), this.blocksNum.getValue(),
+                paddleCorner.getX(), paddleCorner.getY(), ballValues, bricks, brickHits, brickAlive);
+    }
+
+    /**
+     * function name: isChanged
+     * Function Operation: checks if the brick was hit or removed since the level started.
+     *
+     * @param i - the brick's index
+     * @return true if the brick changed
+     */
+    private boolean isChanged(int i) {
+        return this.blockField.getHitPoints(i) != this.startHitPoints[i] || !this.blockField.isAlive(i);
+    }
+
+    /**
+     * function name: restore
+     * Function Operation: sets the state of the initialized level to the keyframe's state - the counters, the
+     * paddle's place, the bricks (without notifying the hit listeners) and the balls. the turn goes on with
+     * resumeTurn.
+     *
+     * @param keyframe - a keyframe of this level
+     */
+    public void restore(Keyframe keyframe) {
+        this.score.increase(keyframe.getScore() - this.score.getValue());
+        this.numOfLives.increase(keyframe.getLives() - this.numOfLives.getValue());
+        this.blocksNum.increase(keyframe.getBlocks() - this.blocksNum.getValue());
+        this.paddle.moveTo(keyframe.getPaddleX(), keyframe.getPaddleY());
+        for (int i = 0; i < keyframe.getBricks().length; ++i) {
+            int brick = keyframe.getBricks()[i];
+            this.blockField.setHitPoints(brick, keyframe.getBrickHits()[i]);
+            if (!keyframe.getBrickAlive()[i]) {
+                this.blockField.remove(brick);
+            }
+        }
+        double[] ballValues = keyframe.getBalls();
+        for (int i = 0; i < ballValues.length; i += 4) {
+            this.createBall(new Point(ballValues[i], ballValues[i + 1]),
+                    new Velocity(ballValues[i + 2], ballValues[i + 3]));
+        }
+    }
+
     /**
      * function name: shouldStop
      * Function Operation: returns the boolean member, if the game
@@ -261,17 +473,72 @@ public class GameLevel implements Animation {
 
     /**
      * function name: doOneFrame
-     * Function Operation: draws all the sprites and plays them.
-     * allows to pause the game if "p" pressed, and orders to finish the turn,
-     * if the player looses.
+     * Function Operation: plays all the sprites and draws them (a single step, and then render), so the frame
+     * shows the state after this frame's input.
      *
      * @param d - Drawsurface type - to draw number on it
      * @param dt - frames per second
      */
 
     public void doOneFrame(DrawSurface d, double dt) {
+        this.step(dt);
+        this.render(d);
+    }
+
+    /**
+     * function name: render
+     * Function Operation: draws all the sprites (and times it), and then the timings overlay on top of them.
+     *
+     * @param d - Drawsurface type - to draw on
+     */
+    public void render(DrawSurface d) {
+        long start = System.nanoTime();
         this.sprites.drawAllOn(d);
+        this.timings.record(FrameTimings.DRAW, System.nanoTime() - start);
+        this.overlay.drawOn(d);
+    }
+
+    /**
+     * function name: render
+     * Function Operation: draws all the sprites (and times it) with the balls and the paddle at the given part
+     * of the way of their last step, and then the timings overlay on top of them.
+     *
+     * @param d - Drawsurface type - to draw on
+     * @param alpha - the part of the way of the last step, from 0 to 1
+     */
+    public void render(DrawSurface d, double alpha) {
+        long start = System.nanoTime();
+        this.sprites.drawAllOn(d, alpha);
+        this.timings.record(FrameTimings.DRAW, System.nanoTime() - start);
+        this.overlay.drawOn(d);
+    }
+
+    /**
+     * function name: snapshot
+     * Function Operation: returns the snapshot of all the sprites, with the timings overlay on top of them.
+     *
+     * @return the snapshot of the frame
+     */
+    public Sprite snapshot() {
+        List<Sprite> snapshots = this.sprites.snapshot();
+        snapshots.add(this.overlay);
+        return new WorldSnapshot(snapshots);
+    }
+
+    /**
+     * function name: step
+     * Function Operation: plays all the sprites for dt seconds, without drawing them, and times it (and the
+     * collision queries in it). allows to pause the game if "p" pressed, to show the timings if "t" pressed,
+     * and orders to finish the turn, if the player looses or the blocks are over.
+     *
+     * @param dt - the length of the step, in seconds
+     */
+    public void step(double dt) {
+        long start = System.nanoTime();
         this.sprites.notifyAllTimePassed(dt);
+        this.timings.record(FrameTimings.UPDATE, System.nanoTime() - start);
+        this.timings.record(FrameTimings.COLLISION, this.environment.takeCollisionNanos());
+        this.overlay.timePassed(dt);
         if (this.keyboard.isPressed("p")) {
             this.runner.run(new KeyPressStoppableAnimation(
                     this.keyboard, "space", new PauseScreen()));
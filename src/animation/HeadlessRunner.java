@@ -0,0 +1,154 @@
+package animation;
+
+import biuoop.DrawSurface;
+import biuoop.Sleeper;
+import interfaces.Animation;
+import interfaces.PaddlePolicy;
+
+import java.util.Random;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: HeadlessRunner
+ * class operation: an AnimationRunner without a window. the frames are drawn on a NullDrawSurface,
+ * the keys come from a ScriptedKeyboardSensor, and there is no pacing - every frame starts as soon
+ * as the last one ended, so the game runs as fast as the cpu allows.
+ * the runner counts the frames it ran, and stops running animations once the frame limit is reached.
+ * if a PaddlePolicy is set, it chooses the pressed keys before every frame of the current level.
+ * if an InputReplay is set, the frames and their dt are the ticks of the replayed log instead, and the runner
+ * is out of frames when the log ends.
+ */
+public class HeadlessRunner extends AnimationRunner {
+    private DrawSurface surface;
+    private ScriptedKeyboardSensor keyboard;
+    private long frameLimit;
+    private long frames;
+    private PaddlePolicy policy;
+    private Random random;
+    private GameLevel level;
+    private InputReplay replay;
+
+    /**
+     * .
+     * Function Operation: constructor - creates a runner with the given keyboard script and frame limit.
+     *
+     * @param keyboard        - the scripted keyboard the animations read
+     * @param framesPerSecond - number of (simulated) frames in a second, sets the dt of every frame
+     * @param frameLimit      - the maximal number of frames to run in all the animations
+     */
+    public HeadlessRunner(ScriptedKeyboardSensor keyboard, int framesPerSecond, long frameLimit) {
+        super(null, framesPerSecond, new Sleeper() {
+            @Override
+            public void sleepFor(long milliseconds) { // no pacing and no waiting
+            }
+        });
+        this.surface = new NullDrawSurface(800, 600);
+        this.keyboard = keyboard;
+        this.frameLimit = frameLimit;
+    }
+
+    /**
+     * Function Name:run
+     * Function Operation: runs the animation's frames one after the other without drawing and without
+     * sleeping, until shouldStop returns true or the frame limit is reached.
+     *
+     * @param animation - Animation type animation, runs it
+     */
+    @Override
+    public void run(Animation animation) {
+        double dt = 1.0 / this.getFramesPerSecond();
+        while (this.frames < this.frameLimit) {
+            if (this.replay != null) {
+                dt = this.replay.nextTick();
+                if (dt < 0) { // the log ended
+                    this.frameLimit = this.frames;
+                    return;
+                }
+            }
+            this.keyboard.setFrame(this.frames);
+            if (this.policy != null && this.level != null) {
+                this.policy.nextFrame(this.level, this.keyboard, this.random);
+            }
+            this.startTick(animation, dt);
+            animation.doOneFrame(this.surface, dt);
+            this.frames++;
+            if (animation.shouldStop()) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Function Name:setPolicy
+     * Function Operation: sets the policy that plays the paddle, and the Random it uses.
+     *
+     * @param paddlePolicy - the policy (or null for the keyboard script alone)
+     * @param rand         - the Random of the run
+     */
+    public void setPolicy(PaddlePolicy paddlePolicy, Random rand) {
+        this.policy = paddlePolicy;
+        this.random = rand;
+    }
+
+    /**
+     * Function Name:setReplay
+     * Function Operation: sets the log the frames are replayed from.
+     *
+     * @param inputReplay - the replay (or null to run frames of a fixed dt)
+     */
+    public void setReplay(InputReplay inputReplay) {
+        this.replay = inputReplay;
+    }
+
+    /**
+     * Function Name:setLevel
+     * Function Operation: sets the level the policy plays.
+     *
+     * @param currentLevel - the level being played
+     */
+    public void setLevel(GameLevel currentLevel) {
+        this.level = currentLevel;
+    }
+
+    /**
+     * Function Name:getKeyboard
+     * Function Operation: getter - getting the scripted keyboard member
+     *
+     * @return - the ScriptedKeyboardSensor of this runner
+     */
+    public ScriptedKeyboardSensor getKeyboard() {
+        return this.keyboard;
+    }
+
+    /**
+     * Function Name:getFrames
+     * Function Operation: getter - the number of frames run so far
+     *
+     * @return - number of frames
+     */
+    public long getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * Function Name:setFrames
+     * Function Operation: sets the number of frames run so far (a replay that starts from a keyframe starts
+     * from the keyframe's tick).
+     *
+     * @param count - number of frames
+     */
+    public void setFrames(long count) {
+        this.frames = count;
+    }
+
+    /**
+     * Function Name:isOutOfFrames
+     * Function Operation: checks if the frame limit was reached
+     *
+     * @return - true if no more frames will run, false otherwise
+     */
+    public boolean isOutOfFrames() {
+        return this.frames >= this.frameLimit;
+    }
+}
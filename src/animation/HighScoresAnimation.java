@@ -14,6 +14,7 @@ import java.io.IOException;
  * Class operation: responsible for displaying the highScoreTable as an animation.
  */
 public class HighScoresAnimation implements Animation {
+    private static final int SHOWN_SCORES = 5; // the rows that fit between the titles
     private HighScoresTable scores;
 
     /**
@@ -48,7 +49,7 @@ public class HighScoresAnimation implements Animation {
         d.drawText(195, 556, "Press Space To Continue", 30);
         d.drawText(195, 557, "Press Space To Continue", 30);
 
-        for (int i = 0; i < this.scores.size(); ++i) {
+        for (int i = 0; i < Math.min(this.scores.size(), SHOWN_SCORES); ++i) {
             d.drawText(180, 250 + (30 * i), Integer.toString(i + 1) + "."
                     + this.scores.getHighScores().get(i).getName(), 25);
             String score = Integer.toString(this.scores.getHighScores().get(i).getScore());
@@ -0,0 +1,234 @@
+package animation;
+
+import biuoop.DrawSurface;
+
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Polygon;
+import java.awt.image.BufferedImage;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: ImageDrawSurface
+ * class operation: a DrawSurface that draws on an off-screen BufferedImage instead of the window.
+ * sprites keep using their drawOn methods, and the image can later be drawn on the real surface at once.
+ */
+public class ImageDrawSurface implements DrawSurface {
+    private BufferedImage image;
+    private Graphics2D graphics;
+
+    /**
+     * .
+     * Function Operation: constructor - draws on the given image.
+     *
+     * @param image - the image to draw on
+     */
+    public ImageDrawSurface(BufferedImage image) {
+        this.image = image;
+        this.graphics = image.createGraphics();
+    }
+
+    /**
+     * .
+     * function name: getGraphics
+     * Function Operation: getter for the image's graphics (for clipping and clearing parts of the image)
+     *
+     * @return the Graphics2D of the image
+     */
+    public Graphics2D getGraphics() {
+        return this.graphics;
+    }
+
+    /**
+     * .
+     * function name: getImage
+     * Function Operation: getter for the image this surface draws on
+     *
+     * @return the image
+     */
+    public BufferedImage getImage() {
+        return this.image;
+    }
+
+    /**
+     * .
+     * function name: getWidth
+     * Function Operation: getter for the width of the image
+     *
+     * @return the width
+     */
+    public int getWidth() {
+        return this.image.getWidth();
+    }
+
+    /**
+     * .
+     * function name: getHeight
+     * Function Operation: getter for the height of the image
+     *
+     * @return the height
+     */
+    public int getHeight() {
+        return this.image.getHeight();
+    }
+
+    /**
+     * .
+     * function name: setColor
+     * Function Operation: sets the color of the next drawings.
+     *
+     * @param color - the color
+     */
+    public void setColor(Color color) {
+        this.graphics.setColor(color);
+    }
+
+    /**
+     * .
+     * function name: drawLine
+     * Function Operation: draws a line between the two points.
+     *
+     * @param x1 - x value of the first point
+     * @param y1 - y value of the first point
+     * @param x2 - x value of the second point
+     * @param y2 - y value of the second point
+     */
+    public void drawLine(int x1, int y1, int x2, int y2) {
+        this.graphics.drawLine(x1, y1, x2, y2);
+    }
+
+    /**
+     * .
+     * function name: drawOval
+     * Function Operation: draws the outline of an oval in the given bounds.
+     *
+     * @param x      - x value of the upper left corner
+     * @param y      - y value of the upper left corner
+     * @param width  - the width
+     * @param height - the height
+     */
+    public void drawOval(int x, int y, int width, int height) {
+        this.graphics.drawOval(x, y, width, height);
+    }
+
+    /**
+     * .
+     * function name: fillOval
+     * Function Operation: fills an oval in the given bounds.
+     *
+     * @param x      - x value of the upper left corner
+     * @param y      - y value of the upper left corner
+     * @param width  - the width
+     * @param height - the height
+     */
+    public void fillOval(int x, int y, int width, int height) {
+        this.graphics.fillOval(x, y, width, height);
+    }
+
+    /**
+     * .
+     * function name: drawRectangle
+     * Function Operation: draws the outline of a rectangle.
+     *
+     * @param x      - x value of the upper left corner
+     * @param y      - y value of the upper left corner
+     * @param width  - the width
+     * @param height - the height
+     */
+    public void drawRectangle(int x, int y, int width, int height) {
+        this.graphics.drawRect(x, y, width, height);
+    }
+
+    /**
+     * .
+     * function name: fillRectangle
+     * Function Operation: fills a rectangle.
+     *
+     * @param x      - x value of the upper left corner
+     * @param y      - y value of the upper left corner
+     * @param width  - the width
+     * @param height - the height
+     */
+    public void fillRectangle(int x, int y, int width, int height) {
+        this.graphics.fillRect(x, y, width, height);
+    }
+
+    /**
+     * .
+     * function name: drawImage
+     * Function Operation: draws the image with its upper left corner at the given point.
+     *
+     * @param x       - x value of the upper left corner
+     * @param y       - y value of the upper left corner
+     * @param picture - the image to draw
+     */
+    public void drawImage(int x, int y, Image picture) {
+        this.graphics.drawImage(picture, x, y, null);
+    }
+
+    /**
+     * .
+     * function name: drawCircle
+     * Function Operation: draws the outline of a circle.
+     *
+     * @param x      - x value of the center
+     * @param y      - y value of the center
+     * @param radius - the radius
+     */
+    public void drawCircle(int x, int y, int radius) {
+        this.graphics.drawOval(x - radius, y - radius, 2 * radius, 2 * radius);
+    }
+
+    /**
+     * .
+     * function name: fillCircle
+     * Function Operation: fills a circle.
+     *
+     * @param x      - x value of the center
+     * @param y      - y value of the center
+     * @param radius - the radius
+     */
+    public void fillCircle(int x, int y, int radius) {
+        this.graphics.fillOval(x - radius, y - radius, 2 * radius, 2 * radius);
+    }
+
+    /**
+     * .
+     * function name: drawText
+     * Function Operation: draws the text, starting at the given point.
+     *
+     * @param x        - x value of the text's start
+     * @param y        - y value of the text's base line
+     * @param text     - the text
+     * @param fontSize - the size of the font
+     */
+    public void drawText(int x, int y, String text, int fontSize) {
+        this.graphics.setFont(new Font(Font.SANS_SERIF, Font.PLAIN, fontSize));
+        this.graphics.drawString(text, x, y);
+    }
+
+    /**
+     * .
+     * function name: drawPolygon
+     * Function Operation: draws the outline of the polygon.
+     *
+     * @param polygon - the polygon
+     */
+    public void drawPolygon(Polygon polygon) {
+        this.graphics.drawPolygon(polygon);
+    }
+
+    /**
+     * .
+     * function name: fillPolygon
+     * Function Operation: fills the polygon.
+     *
+     * @param polygon - the polygon
+     */
+    public void fillPolygon(Polygon polygon) {
+        this.graphics.fillPolygon(polygon);
+    }
+}
@@ -0,0 +1,318 @@
+package animation;
+
+import biuoop.KeyboardSensor;
+import interfaces.Animation;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: InputRecorder
+ * class operation: a KeyboardSensor that passes the queries to another sensor (the real keyboard), and writes
+ * every answer to a binary log, so the session can be replayed exactly (see InputReplay).
+ * the runner starts a tick before every frame or logic step (with its dt), and the queries of the tick are
+ * kept in the log under it. the log's format:
+ * a header (MAGIC, VERSION and the level set's path), and then records - a NEW_KEY record (the key's name)
+ * the first time a key is asked, and a TICK record for every tick: its dt (only if it changed since the last
+ * tick), the number of queries, and a byte per query - the key's id and the answer.
+ * every few ticks of a level's game loop, a KEYFRAME record (the number of keys so far, the dt of the last tick
+ * and a Keyframe of the level's state) is written before the tick's record. after the END record comes the
+ * index of the keyframes (the tick and the offset of every keyframe, each as the gap from the last one) and the
+ * names of all the keys, and the log ends with the index's offset and MAGIC, so a replay can find the keyframe
+ * before any tick without reading the ticks before it.
+ */
+public class InputRecorder implements KeyboardSensor {
+    public static final int MAGIC = 0x41524B52; // "ARKR"
+    public static final int VERSION = 2;
+    public static final int END = 0;
+    public static final int TICK = 1;
+    public static final int TICK_NEW_DT = 2;
+    public static final int NEW_KEY = 3;
+    public static final int KEYFRAME = 4;
+    public static final int MAX_KEYS = 128;
+    public static final int DEFAULT_KEYFRAME_INTERVAL = 600; // 5 seconds of 120 steps
+    private KeyboardSensor source;
+    private DataOutputStream out;
+    private Map<String, Integer> keyIds = new HashMap<String, Integer>();
+    private List<String> keyNames = new ArrayList<String>();
+    private ByteArrayOutputStream queries = new ByteArrayOutputStream();
+    private int queryCount;
+    private boolean inTick;
+    private double tickDt;
+    private double lastDt = Double.NaN;
+    private long ticks;
+    private int levelIndex;
+    private int keyframeInterval = DEFAULT_KEYFRAME_INTERVAL;
+    private long lastKeyframeTick;
+    private List<Long> keyframeTicks = new ArrayList<Long>();
+    private List<Long> keyframeOffsets = new ArrayList<Long>();
+
+    /**
+     * .
+     * Function Operation: constructor - a recorder of the source's answers that writes to the stream.
+     *
+     * @param source - the sensor that answers the queries
+     * @param out    - the stream of the log (its header was written)
+     */
+    private InputRecorder(KeyboardSensor source, DataOutputStream out) {
+        this.source = source;
+        this.out = out;
+    }
+
+    /**
+     * .
+     * function name: open
+     * Function Operation: creates the log file, writes its header and returns a recorder that writes to it.
+     *
+     * @param source       - the sensor that answers the queries
+     * @param path         - the path of the log file
+     * @param levelSetPath - the path of the level set of the session
+     * @return the recorder, or null if the file can not be written
+     */
+    public static InputRecorder open(KeyboardSensor source, String path, String levelSetPath) {
+        try {
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path)));
+            out.writeInt(MAGIC);
+            out.writeByte(VERSION);
+            out.writeUTF(levelSetPath);
+            return new InputRecorder(source, out);
+        } catch (IOException e) {
+            System.out.println("cant write input log-InputRecorder");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * function name: isPressed
+     * Function Operation: asks the source if the key is pressed, and keeps the answer in the current tick.
+     *
+     * @param key - the key's name
+     * @return true if the key is pressed
+     */
+    public boolean isPressed(String key) {
+        boolean pressed = this.source.isPressed(key);
+        if (this.out == null) {
+            return pressed;
+        }
+        Integer id = this.keyIds.get(key);
+        if (id == null) {
+            if (this.keyIds.size() == MAX_KEYS) {
+                this.fail("too many keys for the input log-InputRecorder");
+                return pressed;
+            }
+            id = this.keyIds.size();
+            this.keyIds.put(key, id);
+            this.keyNames.add(key);
+            try {
+                this.out.writeByte(NEW_KEY);
+                this.out.writeUTF(key);
+            } catch (IOException e) {
+                this.fail("cant write input log-InputRecorder");
+                return pressed;
+            }
+        }
+        this.queries.write((id << 1) | (pressed ? 1 : 0));
+        this.queryCount++;
+        return pressed;
+    }
+
+    /**
+     * .
+     * function name: startTick
+     * Function Operation: ends the current tick (writes it to the log) and starts a new one. if the new tick is a
+     * step of a level's game loop, and the last keyframe is at least the keyframe interval old, a keyframe of the
+     * level is written first.
+     *
+     * @param animation - the animation that runs the new frame or step
+     * @param dt        - the dt of the new frame or step
+     */
+    public void startTick(Animation animation, double dt) {
+        this.endTick();
+        if (animation instanceof GameLevel && this.out != null
+                && (this.keyframeTicks.isEmpty() || this.ticks - this.lastKeyframeTick >= this.keyframeInterval)) {
+            this.writeKeyframe(((GameLevel) animation).keyframe());
+        }
+        this.inTick = true;
+        this.tickDt = dt;
+    }
+
+    /**
+     * .
+     * function name: startLevel
+     * Function Operation: sets the index (in the level set) of the level that the next ticks play.
+     *
+     * @param index - the level's index
+     */
+    public void startLevel(int index) {
+        this.levelIndex = index;
+    }
+
+    /**
+     * .
+     * function name: setKeyframeInterval
+     * Function Operation: sets the least number of ticks between two keyframes. a replay seeks to any tick by
+     * running at most about this number of ticks.
+     *
+     * @param interval - number of ticks (at least 1)
+     */
+    public void setKeyframeInterval(int interval) {
+        this.keyframeInterval = Math.max(1, interval);
+    }
+
+    /**
+     * .
+     * function name: getTicks
+     * Function Operation: getter - the number of ticks written so far.
+     *
+     * @return number of ticks
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * .
+     * function name: close
+     * Function Operation: writes the last tick and the end of the log, and closes the file.
+     */
+    public void close() {
+        this.endTick();
+        if (this.out == null) {
+            return;
+        }
+        try {
+            this.out.writeByte(END);
+            long indexOffset = this.out.size();
+            writeVarInt(this.out, this.keyframeTicks.size());
+            long lastTick = 0;
+            long lastOffset = 0;
+            for (int i = 0; i < this.keyframeTicks.size(); ++i) {
+                writeVarLong(this.out, this.keyframeTicks.get(i) - lastTick);
+                writeVarLong(this.out, this.keyframeOffsets.get(i) - lastOffset);
+                lastTick = this.keyframeTicks.get(i);
+                lastOffset = this.keyframeOffsets.get(i);
+            }
+            writeVarInt(this.out, this.keyNames.size());
+            for (String key : this.keyNames) {
+                this.out.writeUTF(key);
+            }
+            this.out.writeLong(indexOffset);
+            this.out.writeInt(MAGIC);
+            this.out.close();
+        } catch (IOException e) {
+            System.out.println("cant write input log-InputRecorder");
+        }
+        this.out = null;
+    }
+
+    /**
+     * .
+     * function name: endTick
+     * Function Operation: writes the current tick (if one was started) with its queries.
+     */
+    private void endTick() {
+        if (!this.inTick || this.out == null) {
+            return;
+        }
+        try {
+            if (Double.doubleToLongBits(this.tickDt) == Double.doubleToLongBits(this.lastDt)) {
+                this.out.writeByte(TICK);
+            } else {
+                this.out.writeByte(TICK_NEW_DT);
+                this.out.writeDouble(this.tickDt);
+                this.lastDt = this.tickDt;
+            }
+            writeVarInt(this.out, this.queryCount);
+            this.queries.writeTo(this.out);
+        } catch (IOException e) {
+            this.fail("cant write input log-InputRecorder");
+            return;
+        }
+        this.queries.reset();
+        this.queryCount = 0;
+        this.inTick = false;
+        this.ticks++;
+    }
+
+    /**
+     * .
+     * function name: writeKeyframe
+     * Function Operation: writes a KEYFRAME record of the level's state before the current tick, and keeps its
+     * offset in the index.
+     *
+     * @param keyframe - the level's state (without its tick and level index)
+     */
+    private void writeKeyframe(Keyframe keyframe) {
+        keyframe.setPosition(this.ticks, this.levelIndex);
+        long offset = this.out.size();
+        try {
+            this.out.writeByte(KEYFRAME);
+            writeVarInt(this.out, this.keyNames.size());
+            this.out.writeDouble(this.lastDt);
+            keyframe.write(this.out);
+        } catch (IOException e) {
+            this.fail("cant write input log-InputRecorder");
+            return;
+        }
+        this.keyframeTicks.add(this.ticks);
+        this.keyframeOffsets.add(offset);
+        this.lastKeyframeTick = this.ticks;
+    }
+
+    /**
+     * .
+     * function name: fail
+     * Function Operation: stops recording after an error (the game goes on with the source's answers).
+     *
+     * @param message - the message to print
+     */
+    private void fail(String message) {
+        System.out.println(message);
+        try {
+            this.out.close();
+        } catch (IOException e) {
+            System.out.println("cant close input log-InputRecorder");
+        }
+        this.out = null;
+    }
+
+    /**
+     * .
+     * function name: writeVarInt
+     * Function Operation: writes a non negative number in 7 bits per byte (a small number takes one byte).
+     *
+     * @param out   - the stream to write to
+     * @param value - the number
+     * @throws IOException if the stream can not be written
+     */
+    static void writeVarInt(DataOutputStream out, int value) throws IOException {
+        writeVarLong(out, value);
+    }
+
+    /**
+     * .
+     * function name: writeVarLong
+     * Function Operation: writes a non negative number in 7 bits per byte (a small number takes one byte).
+     *
+     * @param out   - the stream to write to
+     * @param value - the number
+     * @throws IOException if the stream can not be written
+     */
+    static void writeVarLong(DataOutputStream out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+}
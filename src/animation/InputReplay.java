@@ -0,0 +1,324 @@
+package animation;
+
+import biuoop.KeyboardSensor;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: InputReplay
+ * class operation: a KeyboardSensor that answers the queries from a log written by an InputRecorder. the runner
+ * asks for the next tick (and its dt) before every frame or logic step, and the queries of the tick are
+ * answered in the order they were recorded. a query of another key than the recorded one means the replay
+ * went another way than the session (diverged): it is reported once, and the rest of the answers are false.
+ * before the replay starts, it can seek to the last keyframe before a tick (found through the log's index), and
+ * then the replay starts from the keyframe's tick.
+ */
+public class InputReplay implements KeyboardSensor {
+    private DataInputStream in;
+    private String path;
+    private int version;
+    private String levelSetPath;
+    private List<String> keys = new ArrayList<String>();
+    private int knownKeys; // keys that the log named so far
+    private byte[] queries = new byte[16];
+    private int queryCount;
+    private int nextQuery;
+    private double dt;
+    private long ticks;
+    private boolean diverged;
+    private boolean ended;
+
+    /**
+     * .
+     * Function Operation: constructor - a replay of the log in the stream.
+     *
+     * @param in           - the stream of the log (after its header)
+     * @param path         - the path of the log file
+     * @param version      - the version of the log's format
+     * @param levelSetPath - the path of the level set of the session
+     */
+    private InputReplay(DataInputStream in, String path, int version, String levelSetPath) {
+        this.in = in;
+        this.path = path;
+        this.version = version;
+        this.levelSetPath = levelSetPath;
+    }
+
+    /**
+     * .
+     * function name: open
+     * Function Operation: opens the log file and reads its header.
+     *
+     * @param path - the path of the log file
+     * @return the replay, or null if the file can not be read or is not an input log
+     */
+    public static InputReplay open(String path) {
+        try {
+            DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(path)));
+            int version = in.readInt() == InputRecorder.MAGIC ? in.readUnsignedByte() : 0;
+            if (version < 1 || version > InputRecorder.VERSION) {
+                System.out.println("not an input log-InputReplay");
+                in.close();
+                return null;
+            }
+            return new InputReplay(in, path, version, in.readUTF());
+        } catch (IOException e) {
+            System.out.println("cant read input log-InputReplay");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * function name: getLevelSetPath
+     * Function Operation: getter - the path of the level set of the recorded session.
+     *
+     * @return the level set's path
+     */
+    public String getLevelSetPath() {
+        return this.levelSetPath;
+    }
+
+    /**
+     * .
+     * function name: nextTick
+     * Function Operation: moves to the next tick of the log.
+     *
+     * @return the dt of the tick, or -1 if the log ended
+     */
+    public double nextTick() {
+        if (this.nextQuery < this.queryCount) {
+            this.diverge("queries left");
+        }
+        this.queryCount = 0;
+        this.nextQuery = 0;
+        if (this.ended) {
+            return -1;
+        }
+        try {
+            while (true) {
+                int record = this.in.readUnsignedByte();
+                if (record == InputRecorder.NEW_KEY) {
+                    String key = this.in.readUTF();
+                    if (this.knownKeys == this.keys.size()) { // not known from the index
+                        this.keys.add(key);
+                    }
+                    this.knownKeys++;
+                } else if (record == InputRecorder.KEYFRAME) {
+                    this.readKeyframe();
+                } else if (record == InputRecorder.TICK || record == InputRecorder.TICK_NEW_DT) {
+                    if (record == InputRecorder.TICK_NEW_DT) {
+                        this.dt = this.in.readDouble();
+                    }
+                    this.queryCount = (int) readVarLong(this.in);
+                    if (this.queries.length < this.queryCount) {
+                        this.queries = new byte[this.queryCount];
+                    }
+                    this.in.readFully(this.queries, 0, this.queryCount);
+                    this.ticks++;
+                    return this.dt;
+                } else {
+                    this.end();
+                    return -1;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("input log ended early-InputReplay");
+            this.end();
+            return -1;
+        }
+    }
+
+    /**
+     * .
+     * function name: seek
+     * Function Operation: moves the replay to the last keyframe at or before the tick, and returns it. the
+     * keyframe is found in the log's index, so the ticks before it are not read. called before the replay
+     * starts; the next tick of the replay is the keyframe's tick.
+     *
+     * @param tick - the tick to seek to
+     * @return the keyframe, or null if there is none (the replay stays at the first tick)
+     */
+    public Keyframe seek(long tick) {
+        long[] ticks;
+        long[] offsets;
+        List<String> names = new ArrayList<String>();
+        try {
+            RandomAccessFile file = new RandomAccessFile(this.path, "r");
+            try {
+                long length = file.length();
+                if (this.version < 2 || length < 12) {
+                    System.out.println("input log has no keyframes-InputReplay");
+                    return null;
+                }
+                file.seek(length - 12);
+                long indexOffset = file.readLong();
+                if (file.readInt() != InputRecorder.MAGIC || indexOffset < 0 || indexOffset > length - 12) {
+                    System.out.println("input log has no keyframe index-InputReplay");
+                    return null;
+                }
+                byte[] bytes = new byte[(int) (length - 12 - indexOffset)];
+                file.seek(indexOffset);
+                file.readFully(bytes);
+                DataInputStream index = new DataInputStream(new ByteArrayInputStream(bytes));
+                int count = (int) readVarLong(index);
+                ticks = new long[count];
+                offsets = new long[count];
+                for (int i = 0; i < count; ++i) {
+                    ticks[i] = (i == 0 ? 0 : ticks[i - 1]) + readVarLong(index);
+                    offsets[i] = (i == 0 ? 0 : offsets[i - 1]) + readVarLong(index);
+                }
+                int keyCount = (int) readVarLong(index);
+                for (int i = 0; i < keyCount; ++i) {
+                    names.add(index.readUTF());
+                }
+            } finally {
+                file.close();
+            }
+            int found = Arrays.binarySearch(ticks, tick);
+            if (found < 0) {
+                found = -found - 2; // the last keyframe before the tick
+            }
+            if (found < 0) {
+                return null;
+            }
+            FileInputStream stream = new FileInputStream(this.path);
+            stream.getChannel().position(offsets[found]);
+            this.in.close();
+            this.in = new DataInputStream(new BufferedInputStream(stream));
+            if (this.in.readUnsignedByte() != InputRecorder.KEYFRAME) {
+                System.out.println("bad keyframe index-InputReplay");
+                this.end();
+                return null;
+            }
+            this.keys = names;
+            Keyframe keyframe = this.readKeyframe();
+            this.ticks = keyframe.getTick();
+            return keyframe;
+        } catch (IOException e) {
+            System.out.println("cant read input log-InputReplay");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * function name: readKeyframe
+     * Function Operation: reads a KEYFRAME record (after its type), and takes the number of keys and the dt
+     * of the last tick from it.
+     *
+     * @return the keyframe
+     * @throws IOException if the log can not be read
+     */
+    private Keyframe readKeyframe() throws IOException {
+        this.knownKeys = (int) readVarLong(this.in);
+        this.dt = this.in.readDouble();
+        return Keyframe.read(this.in);
+    }
+
+    /**
+     * .
+     * function name: isPressed
+     * Function Operation: returns the recorded answer of the next query of the tick.
+     *
+     * @param key - the key's name
+     * @return the recorded answer (false after the replay diverged)
+     */
+    public boolean isPressed(String key) {
+        if (this.diverged) {
+            return false;
+        }
+        if (this.nextQuery >= this.queryCount) {
+            this.diverge("no recorded query of " + key);
+            return false;
+        }
+        int query = this.queries[this.nextQuery++] & 0xFF;
+        if (!this.keys.get(query >>> 1).equals(key)) {
+            this.diverge("recorded " + this.keys.get(query >>> 1) + ", asked " + key);
+            return false;
+        }
+        return (query & 1) != 0;
+    }
+
+    /**
+     * .
+     * function name: getTicks
+     * Function Operation: getter - the number of ticks replayed so far.
+     *
+     * @return number of ticks
+     */
+    public long getTicks() {
+        return this.ticks;
+    }
+
+    /**
+     * .
+     * function name: hasDiverged
+     * Function Operation: returns true if the replay did not ask the recorded queries.
+     *
+     * @return true if the replay diverged
+     */
+    public boolean hasDiverged() {
+        return this.diverged;
+    }
+
+    /**
+     * .
+     * function name: diverge
+     * Function Operation: reports the first divergence of the replay.
+     *
+     * @param reason - what was different
+     */
+    private void diverge(String reason) {
+        if (!this.diverged) {
+            System.out.println("replay diverged at tick " + this.ticks + ": " + reason);
+            this.diverged = true;
+        }
+    }
+
+    /**
+     * .
+     * function name: end
+     * Function Operation: marks the log as ended and closes it.
+     */
+    private void end() {
+        this.ended = true;
+        try {
+            this.in.close();
+        } catch (IOException e) {
+            System.out.println("cant close input log-InputReplay");
+        }
+    }
+
+    /**
+     * .
+     * function name: readVarLong
+     * Function Operation: reads a number written by InputRecorder.writeVarInt or InputRecorder.writeVarLong.
+     *
+     * @param in - the stream to read from
+     * @return the number
+     * @throws IOException if the stream can not be read
+     */
+    static long readVarLong(DataInputStream in) throws IOException {
+        long value = 0;
+        int shift = 0;
+        while (true) {
+            int b = in.readUnsignedByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+            shift += 7;
+        }
+    }
+}
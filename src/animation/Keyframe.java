@@ -0,0 +1,264 @@
+package animation;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: Keyframe
+ * class operation: the full state of a level in the middle of a turn - the tick it was taken at and the level's
+ * index in the level set, the counters (score, lives, blocks left), the paddle's place, the center and velocity
+ * of every ball, and the bricks that changed since the level started (their hit points and if they are alive).
+ * an InputRecorder writes a keyframe to the input log every few ticks, so a replay can start from the keyframe
+ * instead of from the first tick (see InputReplay.seek).
+ * the bricks are written as a delta from the level's start (only the changed bricks, each as the gap from the
+ * last changed brick), so a keyframe is small, and it is read alone - without the keyframes before it.
+ */
+public class Keyframe {
+    private long tick;
+    private int levelIndex;
+    private int score;
+    private int lives;
+    private int blocks;
+    private double paddleX;
+    private double paddleY;
+    private double[] balls; // x, y, dx and dy of every ball
+    private int[] bricks; // indexes of the changed bricks, in increasing order
+    private int[] brickHits;
+    private boolean[] brickAlive;
+
+    /**
+     * .
+     * Function Operation: constructor - a keyframe of the given state (its tick and level index are set by the
+     * recorder).
+     *
+     * @param score      - the score
+     * @param lives      - the number of lives
+     * @param blocks     - the number of blocks left to remove
+     * @param paddleX    - x value of the paddle's upper left corner
+     * @param paddleY    - y value of the paddle's upper left corner
+     * @param balls      - x, y, dx and dy of every ball, one after the other
+     * @param bricks     - indexes of the bricks that changed since the level started, in increasing order
+     * @param brickHits  - the hit points of every changed brick
+     * @param brickAlive - true for every changed brick that was not removed
+     */
+    public Keyframe(int score, int lives, int blocks, double paddleX, double paddleY, double[] balls,
+                    int[] bricks, int[] brickHits, boolean[] brickAlive) {
+        this.score = score;
+        this.lives = lives;
+        this.blocks = blocks;
+        this.paddleX = paddleX;
+        this.paddleY = paddleY;
+        this.balls = balls;
+        this.bricks = bricks;
+        this.brickHits = brickHits;
+        this.brickAlive = brickAlive;
+    }
+
+    /**
+     * .
+     * function name: setPosition
+     * Function Operation: sets the tick the keyframe was taken at, and the index of its level.
+     *
+     * @param keyframeTick - the tick (the keyframe is the state before it)
+     * @param level        - the index of the level in the level set
+     */
+    public void setPosition(long keyframeTick, int level) {
+        this.tick = keyframeTick;
+        this.levelIndex = level;
+    }
+
+    /**
+     * .
+     * function name: getTick
+     * Function Operation: getter - the tick the keyframe was taken at (the state before the tick ran).
+     *
+     * @return the tick
+     */
+    public long getTick() {
+        return this.tick;
+    }
+
+    /**
+     * .
+     * function name: getLevelIndex
+     * Function Operation: getter - the index of the keyframe's level in the level set.
+     *
+     * @return the level's index
+     */
+    public int getLevelIndex() {
+        return this.levelIndex;
+    }
+
+    /**
+     * .
+     * function name: getScore
+     * Function Operation: getter - the score.
+     *
+     * @return the score
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * .
+     * function name: getLives
+     * Function Operation: getter - the number of lives.
+     *
+     * @return number of lives
+     */
+    public int getLives() {
+        return this.lives;
+    }
+
+    /**
+     * .
+     * function name: getBlocks
+     * Function Operation: getter - the number of blocks left to remove.
+     *
+     * @return number of blocks
+     */
+    public int getBlocks() {
+        return this.blocks;
+    }
+
+    /**
+     * .
+     * function name: getPaddleX
+     * Function Operation: getter - x value of the paddle's upper left corner.
+     *
+     * @return x value
+     */
+    public double getPaddleX() {
+        return this.paddleX;
+    }
+
+    /**
+     * .
+     * function name: getPaddleY
+     * Function Operation: getter - y value of the paddle's upper left corner.
+     *
+     * @return y value
+     */
+    public double getPaddleY() {
+        return this.paddleY;
+    }
+
+    /**
+     * .
+     * function name: getBalls
+     * Function Operation: getter - x, y, dx and dy of every ball, one after the other.
+     *
+     * @return the balls' values
+     */
+    public double[] getBalls() {
+        return this.balls;
+    }
+
+    /**
+     * .
+     * function name: getBricks
+     * Function Operation: getter - the indexes of the bricks that changed since the level started.
+     *
+     * @return the indexes, in increasing order
+     */
+    public int[] getBricks() {
+        return this.bricks;
+    }
+
+    /**
+     * .
+     * function name: getBrickHits
+     * Function Operation: getter - the hit points of every changed brick.
+     *
+     * @return the hit points
+     */
+    public int[] getBrickHits() {
+        return this.brickHits;
+    }
+
+    /**
+     * .
+     * function name: getBrickAlive
+     * Function Operation: getter - for every changed brick, true if it was not removed.
+     *
+     * @return the bricks that are alive
+     */
+    public boolean[] getBrickAlive() {
+        return this.brickAlive;
+    }
+
+    /**
+     * .
+     * function name: write
+     * Function Operation: writes the keyframe - the numbers in 7 bits per byte, and the places and velocities
+     * as they are (a replay must start from the exact values).
+     *
+     * @param out - the stream to write to
+     * @throws IOException if the stream can not be written
+     */
+    public void write(DataOutputStream out) throws IOException {
+        InputRecorder.writeVarLong(out, this.tick);
+        InputRecorder.writeVarInt(out, this.levelIndex);
+        InputRecorder.writeVarInt(out, this.score);
+        InputRecorder.writeVarInt(out, this.lives);
+        InputRecorder.writeVarInt(out, this.blocks);
+        out.writeDouble(this.paddleX);
+        out.writeDouble(this.paddleY);
+        InputRecorder.writeVarInt(out, this.balls.length / 4);
+        for (double value : this.balls) {
+            out.writeDouble(value);
+        }
+        InputRecorder.writeVarInt(out, this.bricks.length);
+        int last = -1;
+        for (int i = 0; i < this.bricks.length; ++i) {
+            InputRecorder.writeVarInt(out, this.bricks[i] - last - 1); // the gap from the last changed brick
+            int hits = (this.brickHits[i] << 1) ^ (this.brickHits[i] >> 31); // small negatives stay small
+            InputRecorder.writeVarLong(out, ((hits & 0xFFFFFFFFL) << 1) | (this.brickAlive[i] ? 1 : 0));
+            last = this.bricks[i];
+        }
+    }
+
+    /**
+     * .
+     * function name: read
+     * Function Operation: reads a keyframe written by write.
+     *
+     * @param in - the stream to read from
+     * @return the keyframe
+     * @throws IOException if the stream can not be read
+     */
+    public static Keyframe read(DataInputStream in) throws IOException {
+        long tick = InputReplay.readVarLong(in);
+        int levelIndex = (int) InputReplay.readVarLong(in);
+        int score = (int) InputReplay.readVarLong(in);
+        int lives = (int) InputReplay.readVarLong(in);
+        int blocks = (int) InputReplay.readVarLong(in);
+        double paddleX = in.readDouble();
+        double paddleY = in.readDouble();
+        double[] balls = new double[(int) InputReplay.readVarLong(in) * 4];
+        for (int i = 0; i < balls.length; ++i) {
+            balls[i] = in.readDouble();
+        }
+        int changed = (int) InputReplay.readVarLong(in);
+        int[] bricks = new int[changed];
+        int[] brickHits = new int[changed];
+        boolean[] brickAlive = new boolean[changed];
+        int last = -1;
+        for (int i = 0; i < changed; ++i) {
+            bricks[i] = last + 1 + (int) InputReplay.readVarLong(in);
+            long state = InputReplay.readVarLong(in);
+            int hits = (int) (state >>> 1);
+            brickHits[i] = (hits >>> 1) ^ -(hits & 1);
+            brickAlive[i] = (state & 1) != 0;
+            last = bricks[i];
+        }
+        Keyframe keyframe = new Keyframe(score, lives, blocks, paddleX, paddleY, balls,
+                bricks, brickHits, brickAlive);
+        keyframe.setPosition(tick, levelIndex);
+        return keyframe;
+    }
+}
@@ -0,0 +1,197 @@
+package animation;
+
+import biuoop.DrawSurface;
+
+import java.awt.Color;
+import java.awt.Image;
+import java.awt.Polygon;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: NullDrawSurface
+ * class operation: a DrawSurface that draws nothing. it lets the animations run their frames
+ * without a window (a headless run), while keeping the size of the game's screen.
+ */
+public class NullDrawSurface implements DrawSurface {
+    private int width;
+    private int height;
+
+    /**
+     * .
+     * Function Operation: constructor - sets the size of the (not existing) screen.
+     *
+     * @param width  - width of the screen
+     * @param height - height of the screen
+     */
+    public NullDrawSurface(int width, int height) {
+        this.width = width;
+        this.height = height;
+    }
+
+    /**
+     * .
+     * function name: getWidth
+     * Function Operation: getter for the width of the screen
+     *
+     * @return the width
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * .
+     * function name: getHeight
+     * Function Operation: getter for the height of the screen
+     *
+     * @return the height
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * .
+     * function name: setColor
+     * Function Operation: does nothing.
+     *
+     * @param color - ignored
+     */
+    public void setColor(Color color) {
+    }
+
+    /**
+     * .
+     * function name: drawLine
+     * Function Operation: does nothing.
+     *
+     * @param x1 - ignored
+     * @param y1 - ignored
+     * @param x2 - ignored
+     * @param y2 - ignored
+     */
+    public void drawLine(int x1, int y1, int x2, int y2) {
+    }
+
+    /**
+     * .
+     * function name: drawOval
+     * Function Operation: does nothing.
+     *
+     * @param x      - ignored
+     * @param y      - ignored
+     * @param width  - ignored
+     * @param height - ignored
+     */
+    public void drawOval(int x, int y, int width, int height) {
+    }
+
+    /**
+     * .
+     * function name: fillOval
+     * Function Operation: does nothing.
+     *
+     * @param x      - ignored
+     * @param y      - ignored
+     * @param width  - ignored
+     * @param height - ignored
+     */
+    public void fillOval(int x, int y, int width, int height) {
+    }
+
+    /**
+     * .
+     * function name: drawRectangle
+     * Function Operation: does nothing.
+     *
+     * @param x      - ignored
+     * @param y      - ignored
+     * @param width  - ignored
+     * @param height - ignored
+     */
+    public void drawRectangle(int x, int y, int width, int height) {
+    }
+
+    /**
+     * .
+     * function name: fillRectangle
+     * Function Operation: does nothing.
+     *
+     * @param x      - ignored
+     * @param y      - ignored
+     * @param width  - ignored
+     * @param height - ignored
+     */
+    public void fillRectangle(int x, int y, int width, int height) {
+    }
+
+    /**
+     * .
+     * function name: drawImage
+     * Function Operation: does nothing.
+     *
+     * @param x     - ignored
+     * @param y     - ignored
+     * @param image - ignored
+     */
+    public void drawImage(int x, int y, Image image) {
+    }
+
+    /**
+     * .
+     * function name: drawCircle
+     * Function Operation: does nothing.
+     *
+     * @param x      - ignored
+     * @param y      - ignored
+     * @param radius - ignored
+     */
+    public void drawCircle(int x, int y, int radius) {
+    }
+
+    /**
+     * .
+     * function name: fillCircle
+     * Function Operation: does nothing.
+     *
+     * @param x      - ignored
+     * @param y      - ignored
+     * @param radius - ignored
+     */
+    public void fillCircle(int x, int y, int radius) {
+    }
+
+    /**
+     * .
+     * function name: drawText
+     * Function Operation: does nothing.
+     *
+     * @param x        - ignored
+     * @param y        - ignored
+     * @param text     - ignored
+     * @param fontSize - ignored
+     */
+    public void drawText(int x, int y, String text, int fontSize) {
+    }
+
+    /**
+     * .
+     * function name: drawPolygon
+     * Function Operation: does nothing.
+     *
+     * @param polygon - ignored
+     */
+    public void drawPolygon(Polygon polygon) {
+    }
+
+    /**
+     * .
+     * function name: fillPolygon
+     * Function Operation: does nothing.
+     *
+     * @param polygon - ignored
+     */
+    public void fillPolygon(Polygon polygon) {
+    }
+}
@@ -0,0 +1,105 @@
+package animation;
+
+import biuoop.KeyboardSensor;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: ScriptedKeyboardSensor
+ * class operation: a KeyboardSensor that is not connected to a real keyboard. a key is pressed
+ * either because it is held (press/release), or because the script holds it in a range of frames.
+ * the runner that uses this sensor sets the current frame before every frame.
+ */
+public class ScriptedKeyboardSensor implements KeyboardSensor {
+    private Set<String> heldKeys;
+    private ArrayList<String> scriptKeys;
+    private ArrayList<Long> scriptStarts;
+    private ArrayList<Long> scriptEnds;
+    private long frame;
+
+    /**
+     * .
+     * Function Operation: constructor - creates a sensor with no pressed keys and an empty script.
+     */
+    public ScriptedKeyboardSensor() {
+        this.heldKeys = new HashSet<String>();
+        this.scriptKeys = new ArrayList<String>();
+        this.scriptStarts = new ArrayList<Long>();
+        this.scriptEnds = new ArrayList<Long>();
+    }
+
+    /**
+     * .
+     * function name: press
+     * Function Operation: holds the key from now on, until it is released.
+     *
+     * @param key - the key to hold
+     */
+    public void press(String key) {
+        this.heldKeys.add(key);
+    }
+
+    /**
+     * .
+     * function name: release
+     * Function Operation: stops holding the key (keys held by the script are not affected).
+     *
+     * @param key - the key to release
+     */
+    public void release(String key) {
+        this.heldKeys.remove(key);
+    }
+
+    /**
+     * .
+     * function name: pressBetween
+     * Function Operation: adds to the script a key that is pressed from the first frame until
+     * (not including) the last frame.
+     *
+     * @param key        - the key to press
+     * @param startFrame - the first frame the key is pressed in
+     * @param endFrame   - the first frame the key is not pressed in anymore
+     */
+    public void pressBetween(String key, long startFrame, long endFrame) {
+        this.scriptKeys.add(key);
+        this.scriptStarts.add(startFrame);
+        this.scriptEnds.add(endFrame);
+    }
+
+    /**
+     * .
+     * function name: setFrame
+     * Function Operation: sets the number of the current frame, the script is checked against it.
+     *
+     * @param currentFrame - number of the current frame
+     */
+    public void setFrame(long currentFrame) {
+        this.frame = currentFrame;
+    }
+
+    /**
+     * .
+     * function name: isPressed
+     * Function Operation: KeyboardSensor's interface method. a key is pressed if it is held, or if the
+     * script presses it in the current frame.
+     *
+     * @param key - the key to check
+     * @return true if the key is pressed, false otherwise
+     */
+    public boolean isPressed(String key) {
+        if (this.heldKeys.contains(key)) {
+            return true;
+        }
+        for (int i = 0; i < this.scriptKeys.size(); ++i) {
+            if (this.scriptKeys.get(i).equals(key)
+                    && this.frame >= this.scriptStarts.get(i) && this.frame < this.scriptEnds.get(i)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,87 @@
+package animation;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: Timeline
+ * class operation: the tweens of an animation that run together. the animation advances the timeline by
+ * the dt of every frame, and reads the tweens' values to draw itself; the timeline ends when all of its
+ * tweens ended. a transition (like the countdown before a turn) is a timeline, instead of a loop that
+ * sleeps, so the frames go on while it runs.
+ */
+public class Timeline {
+    private List<Tween> tweens = new ArrayList<Tween>();
+    private double time;
+
+    /**
+     * .
+     * function name: add
+     * Function Operation: adds a tween to the timeline. its delay is counted from the start of the timeline.
+     *
+     * @param tween - the tween to add
+     * @return the tween
+     */
+    public Tween add(Tween tween) {
+        this.tweens.add(tween);
+        return tween;
+    }
+
+    /**
+     * .
+     * function name: advance
+     * Function Operation: moves the timeline and all of its tweens forward in time.
+     *
+     * @param dt - the time that passed, in seconds
+     */
+    public void advance(double dt) {
+        this.time += dt;
+        for (int i = 0; i < this.tweens.size(); ++i) {
+            this.tweens.get(i).advance(dt);
+        }
+    }
+
+    /**
+     * .
+     * function name: getTime
+     * Function Operation: getter - the time since the start of the timeline.
+     *
+     * @return the time, in seconds
+     */
+    public double getTime() {
+        return this.time;
+    }
+
+    /**
+     * .
+     * function name: getLength
+     * Function Operation: returns the time from the start of the timeline until its last tween ends.
+     *
+     * @return the length, in seconds
+     */
+    public double getLength() {
+        double length = 0;
+        for (int i = 0; i < this.tweens.size(); ++i) {
+            length = Math.max(length, this.tweens.get(i).getEndTime());
+        }
+        return length;
+    }
+
+    /**
+     * .
+     * function name: isFinished
+     * Function Operation: returns true if all the tweens ended.
+     *
+     * @return true if the timeline ended
+     */
+    public boolean isFinished() {
+        for (int i = 0; i < this.tweens.size(); ++i) {
+            if (!this.tweens.get(i).isFinished()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
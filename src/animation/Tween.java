@@ -0,0 +1,114 @@
+package animation;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: Tween
+ * class operation: a value that changes from one number to another during a given time, after a given delay.
+ * the tween does not look at the clock - it is advanced by the dt of the frames (or steps) of the animation
+ * that owns it, so it never blocks the loop, and a paused animation pauses its tweens too.
+ * the change can be linear, or eased (slow at the start and at the end).
+ */
+public class Tween {
+    private double from;
+    private double to;
+    private double duration;
+    private double delay;
+    private boolean eased;
+    private double elapsed;
+
+    /**
+     * .
+     * Function Operation: constructor - a linear tween that starts at once.
+     *
+     * @param from     - the value at the start
+     * @param to       - the value at the end
+     * @param duration - the time of the change, in seconds
+     */
+    public Tween(double from, double to, double duration) {
+        this(from, to, duration, 0, false);
+    }
+
+    /**
+     * .
+     * Function Operation: constructor - a tween that starts after a delay.
+     *
+     * @param from     - the value at the start (and during the delay)
+     * @param to       - the value at the end
+     * @param duration - the time of the change, in seconds
+     * @param delay    - the time before the change starts, in seconds
+     * @param eased    - true to change slowly at the start and at the end, false to change linearly
+     */
+    public Tween(double from, double to, double duration, double delay, boolean eased) {
+        this.from = from;
+        this.to = to;
+        this.duration = duration;
+        this.delay = delay;
+        this.eased = eased;
+    }
+
+    /**
+     * .
+     * function name: advance
+     * Function Operation: moves the tween forward in time.
+     *
+     * @param dt - the time that passed, in seconds
+     */
+    public void advance(double dt) {
+        this.elapsed += dt;
+    }
+
+    /**
+     * .
+     * function name: getProgress
+     * Function Operation: returns the part of the change that passed - 0 before the change starts, and 1 when
+     * it ended (eased if the tween is eased).
+     *
+     * @return the progress, from 0 to 1
+     */
+    public double getProgress() {
+        double t;
+        if (this.duration <= 0) {
+            t = this.elapsed >= this.delay ? 1 : 0;
+        } else {
+            t = Math.max(0, Math.min(1, (this.elapsed - this.delay) / this.duration));
+        }
+        if (this.eased) {
+            return t * t * (3 - 2 * t);
+        }
+        return t;
+    }
+
+    /**
+     * .
+     * function name: getValue
+     * Function Operation: returns the current value.
+     *
+     * @return the value, between from and to
+     */
+    public double getValue() {
+        return this.from + (this.to - this.from) * this.getProgress();
+    }
+
+    /**
+     * .
+     * function name: isFinished
+     * Function Operation: returns true if the change ended.
+     *
+     * @return true if the tween reached its end value
+     */
+    public boolean isFinished() {
+        return this.elapsed >= this.delay + this.duration;
+    }
+
+    /**
+     * .
+     * function name: getEndTime
+     * Function Operation: returns the time from the start of the tween until its change ends.
+     *
+     * @return the delay and the duration, in seconds
+     */
+    public double getEndTime() {
+        return this.delay + this.duration;
+    }
+}
@@ -0,0 +1,95 @@
+package backgrounds;
+
+import animation.ImageDrawSurface;
+import interfaces.Sprite;
+
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * author: Eyal Styskin
+ * Class name: BackgroundCache
+ * class operation: keeps a single CachedBackground for every background class that is costly to draw (by its
+ * name), so levels with the same background share it. a background is drawn on an off-screen image (a raster)
+ * only when it is first drawn, and only the last few rasters are kept - the raster that was not used for the
+ * longest time is dropped (and drawn again if it is needed later).
+ */
+public class BackgroundCache {
+    private static final int SCREEN_WIDTH = 800;
+    private static final int SCREEN_HEIGHT = 600;
+    private static final int MAX_RASTERS = 4; // about 1.9 MB each
+    private static final Map<String, Sprite> BACKGROUNDS = new ConcurrentHashMap<String, Sprite>();
+    private static final Map<String, BufferedImage> RASTERS = new LinkedHashMap<String, BufferedImage>(16, 0.75f,
+            true) { // access order - the least recently used raster is first
+        private static final long serialVersionUID = 1L;
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BufferedImage> eldest) {
+            return this.size() > MAX_RASTERS;
+        }
+    };
+
+    /**
+     * Function Name:get
+     * Function Operation: returns the cached background of the name.
+     *
+     * @param spec - the background's name
+     * @return the cached background, or null if there is none
+     */
+    public static Sprite get(String spec) {
+        return BACKGROUNDS.get(spec);
+    }
+
+    /**
+     * Function Name:of
+     * Function Operation: returns the cached background of the name. if there is none yet, the given
+     * background is kept in a new CachedBackground for the next levels (it is not drawn yet).
+     *
+     * @param spec       - the background's name
+     * @param background - the background to keep if the name has no cached background
+     * @return the cached background
+     */
+    public static Sprite of(String spec, Sprite background) {
+        Sprite cached = BACKGROUNDS.get(spec);
+        if (cached == null) {
+            Sprite created = new CachedBackground(spec, background);
+            cached = BACKGROUNDS.putIfAbsent(spec, created);
+            if (cached == null) {
+                cached = created;
+            }
+        }
+        return cached;
+    }
+
+    /**
+     * Function Name:rasterOf
+     * Function Operation: returns the raster of the background, and draws the background on a new raster if
+     * it is not kept.
+     *
+     * @param spec       - the background's name
+     * @param background - the background to draw
+     * @return the raster of the background
+     */
+    static BufferedImage rasterOf(String spec, Sprite background) {
+        synchronized (RASTERS) {
+            BufferedImage raster = RASTERS.get(spec);
+            if (raster != null) {
+                return raster;
+            }
+        }
+        ImageDrawSurface surface = new ImageDrawSurface(new BufferedImage(SCREEN_WIDTH, SCREEN_HEIGHT,
+                BufferedImage.TYPE_INT_ARGB)); // not locked, so other rasters can be used while drawing
+        background.drawOn(surface);
+        surface.getGraphics().dispose();
+        synchronized (RASTERS) {
+            BufferedImage other = RASTERS.get(spec);
+            if (other != null) { // drawn by another thread meanwhile
+                return other;
+            }
+            RASTERS.put(spec, surface.getImage());
+        }
+        return surface.getImage();
+    }
+}
@@ -0,0 +1,62 @@
+package backgrounds;
+
+import animation.GameLevel;
+import animation.NullDrawSurface;
+import biuoop.DrawSurface;
+import interfaces.Sprite;
+
+/**
+ * author: Eyal Styskin
+ * Class name: CachedBackground
+ * class operation: Sprite Type.
+ * a background that is drawn once on an off-screen image (when it is first drawn), which the BackgroundCache
+ * keeps. every frame only the image is drawn on the given DrawSurface, instead of all the drawings of the
+ * original background. nothing is drawn on an image for a NullDrawSurface (a run without a window).
+ */
+public class CachedBackground implements Sprite {
+    private String spec;
+    private Sprite background;
+
+    /**
+     * .
+     * Function Operation: constructor - keeps the background and its name in the BackgroundCache.
+     *
+     * @param spec       - the background's name
+     * @param background - the background to draw once
+     */
+    public CachedBackground(String spec, Sprite background) {
+        this.spec = spec;
+        this.background = background;
+    }
+
+    /**
+     * .
+     * Function Name:drawOn
+     * Function Operation: draws the background's image
+     *
+     * @param d - the surface to draw on
+     */
+    public void drawOn(DrawSurface d) {
+        if (d instanceof NullDrawSurface) {
+            return;
+        }
+        d.drawImage(0, 0, BackgroundCache.rasterOf(this.spec, this.background));
+    }
+
+    /**
+     * Function Name:timePassed
+     * Function Operation: nothing.
+     * @param dt - does nothing
+     */
+    public void timePassed(double dt) {
+    }
+
+    /**
+     * Function Name:addToGame
+     * Function Operation: nothing.
+     *
+     * @param g - the game animation
+     */
+    public void addToGame(GameLevel g) {
+    }
+}
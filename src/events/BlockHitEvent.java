@@ -0,0 +1,38 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: BlockHitEvent
+ * class operation: Flight Recorder event of a hit of a Block, with the dispatch to its HitListeners.
+ */
+@Name("arkanoid.BlockHit")
+@Label("Block Hit")
+@Category("Arkanoid")
+@Description("A block was hit and its listeners were notified")
+public class BlockHitEvent extends jdk.jfr.Event {
+    @Label("Hit Points Left")
+    private int hitPoints;
+
+    @Label("Brick")
+    @Description("Whether the block is a brick of the level (and not a border)")
+    private boolean brick;
+
+    /**
+     * .
+     * function name: set
+     * Function Operation: sets the fields of the event.
+     *
+     * @param hitPointsLeft - the block's hit points after the hit
+     * @param isBrick       - true if the block is a brick of the level
+     */
+    public void set(int hitPointsLeft, boolean isBrick) {
+        this.hitPoints = hitPointsLeft;
+        this.brick = isBrick;
+    }
+}
@@ -0,0 +1,38 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: CollisionQueryEvent
+ * class operation: Flight Recorder event of one GameEnvironment.getClosestCollision query.
+ */
+@Name("arkanoid.CollisionQuery")
+@Label("Collision Query")
+@Category("Arkanoid")
+@Description("A closest-collision query of the GameEnvironment")
+public class CollisionQueryEvent extends jdk.jfr.Event {
+    @Label("Candidates")
+    @Description("Number of collidables tested")
+    private int candidates;
+
+    @Label("Hit")
+    private boolean hit;
+
+    /**
+     * .
+     * function name: set
+     * Function Operation: sets the fields of the event.
+     *
+     * @param tested - number of collidables tested
+     * @param found  - true if a collision was found
+     */
+    public void set(int tested, boolean found) {
+        this.candidates = tested;
+        this.hit = found;
+    }
+}
@@ -0,0 +1,69 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.Timespan;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: FrameEvent
+ * class operation: Flight Recorder event of one frame of the AnimationRunner, from its start until the end of
+ * its pacing, with the time of every phase of the frame.
+ */
+@Name("arkanoid.Frame")
+@Label("Frame")
+@Category("Arkanoid")
+@Description("A frame of the AnimationRunner, with the time of its phases")
+public class FrameEvent extends jdk.jfr.Event {
+    @Label("Animation")
+    private String animation;
+
+    @Label("Logic Steps")
+    private int steps;
+
+    @Label("Draw")
+    @Timespan(Timespan.NANOSECONDS)
+    private long draw;
+
+    @Label("Update")
+    @Timespan(Timespan.NANOSECONDS)
+    private long update;
+
+    @Label("Collision")
+    @Timespan(Timespan.NANOSECONDS)
+    private long collision;
+
+    @Label("Present")
+    @Timespan(Timespan.NANOSECONDS)
+    private long present;
+
+    @Label("Missed Deadline")
+    private boolean missedDeadline;
+
+    /**
+     * .
+     * function name: set
+     * Function Operation: sets the fields of the event.
+     *
+     * @param animationName  - the class of the animation that was run
+     * @param logicSteps     - number of logic steps run in the frame
+     * @param drawNanos      - time of drawing the sprites
+     * @param updateNanos    - time of updating the sprites
+     * @param collisionNanos - time of the collision queries (part of the update)
+     * @param presentNanos   - time of showing the frame
+     * @param missed         - true if the frame ended after its deadline
+     */
+    public void set(String animationName, int logicSteps, long drawNanos, long updateNanos, long collisionNanos,
+                    long presentNanos, boolean missed) {
+        this.animation = animationName;
+        this.steps = logicSteps;
+        this.draw = drawNanos;
+        this.update = updateNanos;
+        this.collision = collisionNanos;
+        this.present = presentNanos;
+        this.missedDeadline = missed;
+    }
+}
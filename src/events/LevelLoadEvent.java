@@ -0,0 +1,37 @@
+package events;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: LevelLoadEvent
+ * class operation: Flight Recorder event of the initialization of a GameLevel.
+ */
+@Name("arkanoid.LevelLoad")
+@Label("Level Load")
+@Category("Arkanoid")
+@Description("A level was initialized")
+public class LevelLoadEvent extends jdk.jfr.Event {
+    @Label("Level")
+    private String level;
+
+    @Label("Blocks")
+    private int blocks;
+
+    /**
+     * .
+     * function name: set
+     * Function Operation: sets the fields of the event.
+     *
+     * @param levelName - the level's name
+     * @param blockNum  - number of the level's blocks
+     */
+    public void set(String levelName, int blockNum) {
+        this.level = levelName;
+        this.blocks = blockNum;
+    }
+}
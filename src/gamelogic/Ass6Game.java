@@ -30,6 +30,8 @@ public class Ass6Game {
      * after the other. When run with additional arguments, the arguments are being
      * treated as a list of level numbers to run, in the specified order.
      * also any argument which is not a number, or not in the levels range is ignored.
+     * a second argument is a file that the frame timings of every level are added to when the level ends,
+     * and a third argument is a file that the keys of every played level set are recorded to (see ReplayGame).
      *
      * @param args - numbers from 1 to 4 , represent levels order
      */
@@ -53,6 +55,12 @@ public class Ass6Game {
         LineNumberReader lineReader = new LineNumberReader(reader);
 
         final AnimationRunner animationRunner = new AnimationRunner();
+        animationRunner.setFixedTimestep(120, 5);
+        animationRunner.setInterpolation(true); // smooth balls and paddle between the steps
+        animationRunner.setRenderThread(Runtime.getRuntime().availableProcessors() > 1); // a core for drawing
+        if (args.length > 1) {
+            animationRunner.getTimings().setDumpFile(args[1]);
+        }
 
         Menu<Task<Void>> subMenu = new MenuAnimation<Task<Void>>("Choose Difficulty",
                 animationRunner.getGui().getKeyboardSensor(), animationRunner);
@@ -71,6 +79,9 @@ public class Ass6Game {
                             LevelSpecificationReader reader = new LevelSpecificationReader();
                             GameFlow gameFlow = new GameFlow(animationRunner,
                                     animationRunner.getGui().getKeyboardSensor(), reader);
+                            if (args.length > 2) {
+                                gameFlow.setRecordFile(args[2]);
+                            }
 
                             gameFlow.runLevels(levelSetPath);
                             return null;
@@ -0,0 +1,105 @@
+package gamelogic;
+
+import interfaces.LevelInformation;
+
+import java.util.List;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class operation: sums the outcomes of many headless runs of the same level set - the number of runs,
+ * the number of runs that cleared all the levels, and LevelStatistics for every level.
+ * a BatchResult is filled by a single worker, and the results of different workers are merged.
+ */
+public class BatchResult {
+    private int runs;
+    private int wins;
+    private LevelStatistics[] levels;
+
+    /**
+     * .
+     * constructor - creates an empty result for the given level set.
+     *
+     * @param levelSet - the levels of the runs, in their order
+     */
+    public BatchResult(List<LevelInformation> levelSet) {
+        this.levels = new LevelStatistics[levelSet.size()];
+        for (int i = 0; i < this.levels.length; ++i) {
+            this.levels[i] = new LevelStatistics(levelSet.get(i).levelName());
+        }
+    }
+
+    /**
+     * .
+     * adds the outcome of a single run.
+     *
+     * @param result - the outcome of the run
+     */
+    public void add(SimulationResult result) {
+        this.runs++;
+        if (result.getLevelsCleared() == this.levels.length) {
+            this.wins++;
+        }
+        List<LevelResult> levelResults = result.getLevelResults();
+        for (int i = 0; i < levelResults.size(); ++i) {
+            this.levels[i].add(levelResults.get(i));
+        }
+    }
+
+    /**
+     * .
+     * adds the result of another worker (of the same level set) to this one.
+     *
+     * @param other - result of the same level set
+     * @return this result, after the merge
+     */
+    public BatchResult merge(BatchResult other) {
+        this.runs += other.runs;
+        this.wins += other.wins;
+        for (int i = 0; i < this.levels.length; ++i) {
+            this.levels[i].merge(other.levels[i]);
+        }
+        return this;
+    }
+
+    /**
+     * .
+     * return the number of runs
+     *
+     * @return integer - number of runs
+     */
+    public int getRuns() {
+        return this.runs;
+    }
+
+    /**
+     * .
+     * return the number of runs that cleared all the levels
+     *
+     * @return integer - number of runs
+     */
+    public int getWins() {
+        return this.wins;
+    }
+
+    /**
+     * .
+     * return the statistics of a level
+     *
+     * @param index - the index of the level in the level set
+     * @return the LevelStatistics of the level
+     */
+    public LevelStatistics getLevel(int index) {
+        return this.levels[index];
+    }
+
+    /**
+     * .
+     * return the number of levels in the level set
+     *
+     * @return integer - number of levels
+     */
+    public int getLevelsNum() {
+        return this.levels.length;
+    }
+}
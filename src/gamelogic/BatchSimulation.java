@@ -0,0 +1,157 @@
+package gamelogic;
+
+import interfaces.LevelInformation;
+import interfaces.PaddlePolicy;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * author: Eyal Styskin
+ * Class name: BatchSimulation
+ * class operation: runs a level set many times without a window, one run for every seed, on a ForkJoinPool.
+ * the range of seeds is split in halves until it is small enough, and every worker plays its seeds one after
+ * the other - each run with its own HeadlessGame (its own levels, environment and counters).
+ * every worker sums its runs in its own BatchResult, and the results are merged when the tasks are joined,
+ * so the workers never share anything they write to.
+ */
+public class BatchSimulation {
+    private static final int RUNS_PER_TASK = 8;
+    private static final long DEFAULT_FRAME_LIMIT = 60L * 60 * 10; // ten minutes of game time
+    private List<LevelInformation> levels;
+    private PaddlePolicy policy;
+    private long frameLimit;
+
+    /**
+     * .
+     * Function Operation: Constructor- sets the members of the class.
+     *
+     * @param levels     - the level set to run (only read by the runs)
+     * @param policy     - the policy that plays the paddle
+     * @param frameLimit - the maximal number of frames of a single run
+     */
+    public BatchSimulation(List<LevelInformation> levels, PaddlePolicy policy, long frameLimit) {
+        this.levels = levels;
+        this.policy = policy;
+        this.frameLimit = frameLimit;
+    }
+
+    /**
+     * Function Name:run
+     * Function Operation: runs the level set once for every seed from firstSeed, on the given pool.
+     *
+     * @param firstSeed - the seed of the first run
+     * @param runs      - the number of runs
+     * @param pool      - the pool to run on
+     * @return - the summed outcome of all the runs
+     */
+    public BatchResult run(long firstSeed, int runs, ForkJoinPool pool) {
+        return pool.invoke(new SimulationTask(firstSeed, firstSeed + runs));
+    }
+
+    /**
+     * Function Name:runSeeds
+     * Function Operation: runs the level set once for every seed in the range, one after the other.
+     *
+     * @param fromSeed - the first seed
+     * @param toSeed   - the seed after the last one
+     * @return - the summed outcome of the runs
+     */
+    private BatchResult runSeeds(long fromSeed, long toSeed) {
+        BatchResult result = new BatchResult(this.levels);
+        for (long seed = fromSeed; seed < toSeed; ++seed) {
+            result.add(new HeadlessGame(this.policy, seed, this.frameLimit).runLevels(this.levels));
+        }
+        return result;
+    }
+
+    /**
+     * author: Eyal Styskin
+     * Class name: SimulationTask
+     * class operation: the fork/join task of a range of seeds.
+     */
+    private class SimulationTask extends RecursiveTask<BatchResult> {
+        private static final long serialVersionUID = 1L;
+        private long fromSeed;
+        private long toSeed;
+
+        /**
+         * .
+         * Function Operation: Constructor- sets the range of seeds.
+         *
+         * @param fromSeed - the first seed
+         * @param toSeed   - the seed after the last one
+         */
+        SimulationTask(long fromSeed, long toSeed) {
+            this.fromSeed = fromSeed;
+            this.toSeed = toSeed;
+        }
+
+        @Override
+        protected BatchResult compute() {
+            if (this.toSeed - this.fromSeed <= RUNS_PER_TASK) {
+                return runSeeds(this.fromSeed, this.toSeed);
+            }
+            long middle = (this.fromSeed + this.toSeed) >>> 1;
+            SimulationTask left = new SimulationTask(this.fromSeed, middle);
+            left.fork();
+            BatchResult right = new SimulationTask(middle, this.toSeed).compute();
+            return left.join().merge(right);
+        }
+    }
+
+    /**
+     * Function Name:main
+     * Function Operation: runs the level set of the first argument many times, and prints the
+     * statistics of every level.
+     * arguments: level definitions, number of runs, number of threads, frame limit of a run.
+     *
+     * @param args - the arguments (only the first is needed)
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 0) {
+            System.out.println("usage: BatchSimulation <level definitions> [runs] [threads] [frame limit]");
+            return;
+        }
+        int runs = 1000;
+        int threads = Runtime.getRuntime().availableProcessors();
+        long frameLimit = DEFAULT_FRAME_LIMIT;
+        try {
+            if (args.length > 1) {
+                runs = Integer.parseInt(args[1]);
+            }
+            if (args.length > 2) {
+                threads = Integer.parseInt(args[2]);
+            }
+            if (args.length > 3) {
+                frameLimit = Long.parseLong(args[3]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("arguments must be numbers");
+            return;
+        }
+        List<LevelInformation> levels = HeadlessGame.readLevels(args[0]);
+        if (levels == null) {
+            System.out.println("cant load file-BatchSimulation");
+            return;
+        }
+        BatchSimulation batch = new BatchSimulation(levels, new FollowBallPolicy(0.5), frameLimit);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        long start = System.nanoTime();
+        BatchResult result = batch.run(0, runs, pool);
+        long millis = (System.nanoTime() - start) / 1000000;
+        pool.shutdown();
+        System.out.println("runs=" + result.getRuns() + " wins=" + result.getWins() + " threads=" + threads
+                + " time=" + millis + "ms");
+        for (int i = 0; i < result.getLevelsNum(); ++i) {
+            LevelStatistics level = result.getLevel(i);
+            double clearSeconds = level.getMeanClearFrames() / HeadlessGame.FRAMES_PER_SECOND;
+            System.out.println(level.getLevelName() + ": plays=" + level.getPlays() + " clears=" + level.getClears()
+                    + " clearSeconds=" + String.format("%.2f", clearSeconds)
+                    + " livesLost=" + String.format("%.2f", level.getMeanLivesLost())
+                    + " score=" + String.format("%.1f", level.getMeanScore()));
+        }
+    }
+}
@@ -0,0 +1,69 @@
+package gamelogic;
+
+import animation.GameLevel;
+import animation.ScriptedKeyboardSensor;
+import biuoop.KeyboardSensor;
+import geometry.Rectangle;
+import interfaces.PaddlePolicy;
+import sprites.Ball;
+
+import java.util.Random;
+
+/**
+ * author: Eyal Styskin
+ * Class name: FollowBallPolicy
+ * class operation: a PaddlePolicy that moves the paddle under the lowest falling ball.
+ * every frame the target is moved by a random error (up to the given part of the paddle's width),
+ * so different seeds hit the ball with different parts of the paddle.
+ */
+public class FollowBallPolicy implements PaddlePolicy {
+    private double error;
+
+    /**
+     * .
+     * Function Operation: Constructor - sets the error member.
+     *
+     * @param error - the biggest aiming error, as a part of the paddle's width (0 aims at the center)
+     */
+    public FollowBallPolicy(double error) {
+        this.error = error;
+    }
+
+    /**
+     * Function Name: nextFrame
+     * Function Operation: presses the left or right key, towards the lowest ball that falls
+     * (or the lowest ball, if none of them falls).
+     *
+     * @param level    - the level being played
+     * @param keyboard - the scripted keyboard the paddle reads
+     * @param random   - the Random of the current run
+     */
+    public void nextFrame(GameLevel level, ScriptedKeyboardSensor keyboard, Random random) {
+        keyboard.release(KeyboardSensor.LEFT_KEY);
+        keyboard.release(KeyboardSensor.RIGHT_KEY);
+        if (level.getPaddle() == null) {
+            return;
+        }
+        Ball target = null;
+        for (Ball ball : level.getBalls()) {
+            boolean falling = ball.getVelocity().getDy() > 0;
+            boolean targetFalling = target != null && target.getVelocity().getDy() > 0;
+            if (target == null || (falling && !targetFalling)
+                    || (falling == targetFalling && ball.getY() > target.getY())) {
+                target = ball;
+            }
+        }
+        if (target == null) {
+            return;
+        }
+        Rectangle paddle = level.getPaddle().getCollisionRectangle();
+        double center = paddle.getUpperLeft().getX() + paddle.getWidth() / 2;
+        double aim = target.getX() + (random.nextDouble() * 2 - 1) * this.error * paddle.getWidth() / 2;
+        double tolerance = paddle.getWidth() / 10;
+        if (aim < center - tolerance) {
+            keyboard.press(KeyboardSensor.LEFT_KEY);
+        } else if (aim > center + tolerance) {
+            keyboard.press(KeyboardSensor.RIGHT_KEY);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package gamelogic;
 
 
 import animation.HighScoresAnimation;
+import animation.InputRecorder;
 import animation.AnimationRunner;
 import animation.EndScreen;
 import animation.GameLevel;
@@ -9,6 +10,8 @@ import animation.KeyPressStoppableAnimation;
 import biuoop.DialogManager;
 import biuoop.KeyboardSensor;
 import interfaces.LevelInformation;
+import levels.LazyLevelSet;
+import levels.LevelPack;
 import levels.LevelSpecificationReader;
 import others.Counter;
 import sprites.LivesIndicator;
@@ -17,9 +20,6 @@ import sprites.ScoreIndicator;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.util.List;
 
 /**
@@ -27,6 +27,7 @@ import java.util.List;
  * Class name: GameFlow
  * class operation: class in charge of the GameFlow.
  * moving from one level to another, and remembers the score and number of lives.
+ * if a record file is set, the keys of the levels are recorded to it (an input log that ReplayGame replays).
  */
 public class GameFlow {
     private AnimationRunner animationRunner;
@@ -35,6 +36,7 @@ public class GameFlow {
     private boolean isWon = false;
     private boolean isToAdd = false;
     private LevelSpecificationReader levelSpecification;
+    private String recordFile;
 
     /**
      * .
@@ -51,48 +53,77 @@ public class GameFlow {
         this.levelSpecification = levelSpecification;
     }
 
+    /**
+     * Function Name:setRecordFile
+     * Function Operation: sets the file the keys of the levels are recorded to.
+     *
+     * @param path - the path of the input log, or null to not record
+     */
+    public void setRecordFile(String path) {
+        this.recordFile = path;
+    }
+
     /**
      * Function Name:runLevels
      * Function Operation: creates new Counters for the score and for the number
      * of lives. then runs every level according to the order in the list of the
-     * LevelInformation.
+     * LevelInformation. a level pack (compiled by the LevelCompiler) is loaded without parsing, and
+     * level definitions are read lazily. the next level is loaded (by the LevelPreloader) while the
+     * current level is played.
      * @param filePath - String of the filePath
      */
 
     public void runLevels(String filePath) {
+        InputRecorder recorder = null;
+        LazyLevelSet lazyLevels = null;
+        LevelPreloader preloader = null;
         try {
-            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(filePath);
-            Reader reader = new InputStreamReader(is);
-            List<LevelInformation> levels = this.levelSpecification.fromReader(reader);
+            List<LevelInformation> levels;
+            if (LevelPack.isPack(filePath)) {
+                levels = LevelPack.load(filePath);
+            } else {
+                lazyLevels = LazyLevelSet.open(filePath);
+                levels = lazyLevels;
+            }
             Counter score = new Counter(); //score
             ScoreIndicator scoreIndicator = new ScoreIndicator(score);
             Counter numOfLives = new Counter(); //lives
             LivesIndicator livesIndicator = new LivesIndicator(numOfLives);
             numOfLives.increase(7);
-            for (LevelInformation levelInfo : levels) { //run levels
-
-                GameLevel level = new GameLevel(levelInfo, this.keyboardSensor,
-                        this.animationRunner, numOfLives, score);
-                level.addSprite(levelInfo.getBackground());  // adds the levels background
-                scoreIndicator.addToGame(level);
-                livesIndicator.addToGame(level);
-                level.initialize();
+            KeyboardSensor keyboard = this.keyboardSensor;
+            if (this.recordFile != null) {
+                recorder = InputRecorder.open(this.keyboardSensor, this.recordFile, filePath);
+                if (recorder != null) {
+                    keyboard = recorder;
+                    this.animationRunner.setInputRecorder(recorder);
+                }
+            }
+            preloader = new LevelPreloader(levels.iterator(), keyboard, this.animationRunner, numOfLives, score,
+                    scoreIndicator, livesIndicator);
+            int levelIndex = 0;
+            GameLevel level = preloader.next(); // the first level is loaded here
+            while (level != null) { //run levels
+                if (recorder != null) {
+                    recorder.startLevel(levelIndex); // the keyframes of the level keep its index
+                }
+                levelIndex++;
+                preloader.preloadNext(); // the next level is loaded while this one is played
                 //stop logic
                 while (level.getBlocksNum().getValue() != 0 && level.getNumOfLives().getValue() != 0) {
                     level.playOneTurn();
                 }
-                if (levelInfo == levels.get(levels.size() - 1) //reached last level and won
-                        && level.getBlocksNum().getValue() == 0
-                        && level.getNumOfLives().getValue() != 0) {
-                    this.isWon = true;
-                    break;
-                }
+                this.animationRunner.getTimings().dump(level.getLevelInformation().levelName()); // level ended
                 if (level.getNumOfLives().getValue() == 0) { //out of lives and lost
                     this.isWon = false;
                     break;
                 }
+                level = preloader.next();
+                if (level == null) { //reached last level and won
+                    this.isWon = true;
+                }
             }
 
+            this.stopRecording(recorder);
 
             File file = new File("highscores.txt");
             if (!file.exists()) {
@@ -131,6 +162,26 @@ public class GameFlow {
                     "space", new HighScoresAnimation(this.highScoresTable)));
         } catch (Exception e) {
             System.out.println("cant load file-GameFlow");
+        } finally {
+            this.stopRecording(recorder);
+            if (preloader != null) {
+                preloader.cancel();
+            }
+            if (lazyLevels != null) {
+                lazyLevels.close();
+            }
+        }
+    }
+
+    /**
+     * Function Name:stopRecording
+     * Function Operation: stops recording the keys, and closes the input log.
+     * @param recorder - the recorder of the levels (or null)
+     */
+    private void stopRecording(InputRecorder recorder) {
+        if (recorder != null) {
+            this.animationRunner.setInputRecorder(null);
+            recorder.close();
         }
     }
 }
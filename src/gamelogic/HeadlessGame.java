@@ -0,0 +1,257 @@
+package gamelogic;
+
+import animation.GameLevel;
+import animation.HeadlessRunner;
+import animation.InputRecorder;
+import animation.InputReplay;
+import animation.Keyframe;
+import animation.ScriptedKeyboardSensor;
+import biuoop.KeyboardSensor;
+import interfaces.LevelInformation;
+import interfaces.PaddlePolicy;
+import levels.LevelPack;
+import levels.LevelSpecificationReader;
+import others.Counter;
+
+import java.io.File;
+import java.io.FileNotFoundException;
+import java.io.FileReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * author: Eyal Styskin
+ * Class name: HeadlessGame
+ * class operation: plays a level set without a window, as fast as the cpu allows (with a HeadlessRunner).
+ * the flow of the levels is the same as in GameFlow, without the high scores and the end screens,
+ * and the outcome is returned as a SimulationResult.
+ * the keys can come from a scripted keyboard (and a policy), or from a replayed input log; the keys of a run
+ * can also be recorded to an input log. a replay can start from a keyframe of the log instead of the first level.
+ */
+public class HeadlessGame {
+    public static final int FRAMES_PER_SECOND = 60;
+    private static final long DEFAULT_FRAME_LIMIT = 60L * 60 * 60; // an hour of game time
+    private HeadlessRunner runner;
+    private KeyboardSensor keyboard;
+    private InputRecorder recorder;
+
+    /**
+     * .
+     * Function Operation: Constructor- creates the headless runner of the game.
+     *
+     * @param keyboard   - the scripted keyboard that moves the paddle
+     * @param frameLimit - the maximal number of frames to run
+     */
+    public HeadlessGame(ScriptedKeyboardSensor keyboard, long frameLimit) {
+        this.runner = new HeadlessRunner(keyboard, FRAMES_PER_SECOND, frameLimit);
+        this.keyboard = keyboard;
+    }
+
+    /**
+     * .
+     * Function Operation: Constructor- creates the headless runner of a replay. the frames, their dt and the
+     * keys are the ones of the replayed log.
+     *
+     * @param replay - the replay of an input log
+     */
+    public HeadlessGame(InputReplay replay) {
+        this(replay, Long.MAX_VALUE);
+    }
+
+    /**
+     * .
+     * Function Operation: Constructor- creates the headless runner of a replay that stops at the frame limit
+     * (or when the log ends, if it is sooner).
+     *
+     * @param replay     - the replay of an input log
+     * @param frameLimit - the frame to stop at
+     */
+    public HeadlessGame(InputReplay replay, long frameLimit) {
+        this(new ScriptedKeyboardSensor(), frameLimit);
+        this.runner.setReplay(replay);
+        this.keyboard = replay;
+    }
+
+    /**
+     * .
+     * Function Operation: Constructor- creates the headless runner of the game, with a policy that
+     * plays the paddle.
+     *
+     * @param policy     - the policy that plays the paddle
+     * @param seed       - the seed of the policy's Random
+     * @param frameLimit - the maximal number of frames to run
+     */
+    public HeadlessGame(PaddlePolicy policy, long seed, long frameLimit) {
+        this(new ScriptedKeyboardSensor(), frameLimit);
+        this.runner.setPolicy(policy, new Random(seed));
+    }
+
+    /**
+     * Function Name:record
+     * Function Operation: records the keys of the next runLevels to an input log.
+     *
+     * @param path         - the path of the log file
+     * @param levelSetPath - the path of the level set that will be run
+     * @return true if the log was created
+     */
+    public boolean record(String path, String levelSetPath) {
+        this.recorder = InputRecorder.open(this.keyboard, path, levelSetPath);
+        if (this.recorder == null) {
+            return false;
+        }
+        this.runner.setInputRecorder(this.recorder);
+        this.keyboard = this.recorder;
+        return true;
+    }
+
+    /**
+     * Function Name:runLevels
+     * Function Operation: runs every level according to the order in the list, until the player
+     * is out of lives, the last level is cleared, or the frame limit is reached.
+     * the frames, lives lost and score of every level played are kept in the result.
+     *
+     * @param levels - list of the levels to run
+     * @return - the outcome of the run
+     */
+    public SimulationResult runLevels(List<LevelInformation> levels) {
+        return this.runLevels(levels, null);
+    }
+
+    /**
+     * Function Name:runLevels
+     * Function Operation: runs the levels like runLevels, starting from the keyframe - its level is restored
+     * to the keyframe's state, and the turn goes on from the keyframe's tick. the result has the levels from
+     * the keyframe's level on.
+     *
+     * @param levels - list of the levels of the keyframe's level set
+     * @param start  - the keyframe to start from, or null to start from the first level
+     * @return - the outcome of the run
+     */
+    public SimulationResult runLevels(List<LevelInformation> levels, Keyframe start) {
+        Counter score = new Counter();
+        Counter numOfLives = new Counter();
+        numOfLives.increase(7);
+        int levelsCleared = 0;
+        int first = 0;
+        if (start != null) {
+            first = start.getLevelIndex();
+            levelsCleared = first;
+            this.runner.setFrames(start.getTick());
+        }
+        List<LevelResult> levelResults = new ArrayList<LevelResult>();
+        for (int i = first; i < levels.size(); ++i) {
+            LevelInformation levelInfo = levels.get(i);
+            if (this.recorder != null) {
+                this.recorder.startLevel(i);
+            }
+            GameLevel level = new GameLevel(levelInfo, this.keyboard,
+                    this.runner, numOfLives, score);
+            level.addSprite(levelInfo.getBackground());
+            level.initialize();
+            this.runner.setLevel(level);
+            boolean resumed = start != null && i == first;
+            if (resumed) {
+                level.restore(start);
+            }
+            long startFrame = this.runner.getFrames();
+            int startLives = numOfLives.getValue();
+            int startScore = score.getValue();
+            if (resumed && !this.runner.isOutOfFrames()) {
+                level.resumeTurn();
+            }
+            while (level.getBlocksNum().getValue() != 0 && level.getNumOfLives().getValue() != 0
+                    && !this.runner.isOutOfFrames()) {
+                level.playOneTurn();
+            }
+            this.runner.getTimings().dump(levelInfo.levelName()); // level ended
+            boolean cleared = level.getBlocksNum().getValue() == 0;
+            levelResults.add(new LevelResult(levelInfo.levelName(), cleared,
+                    this.runner.getFrames() - startFrame, startLives - numOfLives.getValue(),
+                    score.getValue() - startScore));
+            if (!cleared) { // out of lives or out of frames
+                break;
+            }
+            levelsCleared++;
+        }
+        this.runner.setLevel(null);
+        if (this.recorder != null) {
+            this.runner.setInputRecorder(null);
+            this.recorder.close();
+        }
+        return new SimulationResult(score.getValue(), numOfLives.getValue(), levelsCleared,
+                this.runner.getFrames(), levelResults);
+    }
+
+    /**
+     * Function Name:readLevels
+     * Function Operation: reads the level definitions from the given file, or from the
+     * class path if there is no such file. a level pack (compiled by the LevelCompiler) is loaded as it is.
+     *
+     * @param path - path of the level definitions
+     * @return - list of the levels, or null if they could not be found
+     */
+    public static List<LevelInformation> readLevels(String path) {
+        if (LevelPack.isPack(path)) {
+            return LevelPack.load(path);
+        }
+        Reader reader = null;
+        File file = new File(path);
+        try {
+            if (file.exists()) {
+                reader = new FileReader(file);
+            } else {
+                InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+                if (is != null) {
+                    reader = new InputStreamReader(is);
+                }
+            }
+        } catch (FileNotFoundException e) {
+            System.out.println("input file not found");
+        }
+        if (reader == null) {
+            return null;
+        }
+        return new LevelSpecificationReader().fromReader(reader);
+    }
+
+    /**
+     * Function Name:main
+     * Function Operation: plays the level set given in the first argument without a window and prints
+     * the outcome. the second argument (optional) is the frame limit of the run, and the third (optional)
+     * is a file that the frame timings of every level are added to.
+     *
+     * @param args - path of the level definitions, the frame limit and the timings file
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 0) {
+            System.out.println("usage: HeadlessGame <level definitions> [frame limit] [timings file]");
+            return;
+        }
+        long frameLimit = DEFAULT_FRAME_LIMIT;
+        if (args.length > 1) {
+            try {
+                frameLimit = Long.parseLong(args[1]);
+            } catch (NumberFormatException e) {
+                System.out.println("frame limit is not a number, using " + DEFAULT_FRAME_LIMIT);
+            }
+        }
+        List<LevelInformation> levels = readLevels(args[0]);
+        if (levels == null) {
+            System.out.println("cant load file-HeadlessGame");
+            return;
+        }
+        HeadlessGame game = new HeadlessGame(new ScriptedKeyboardSensor(), frameLimit);
+        if (args.length > 2) {
+            game.runner.getTimings().setDumpFile(args[2]);
+        }
+        long start = System.nanoTime();
+        SimulationResult result = game.runLevels(levels);
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println(result + " time=" + millis + "ms");
+    }
+}
@@ -1,21 +1,32 @@
 package gamelogic;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
-import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
-import java.io.Serializable;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.ArrayList;
 import java.util.List;
 
 /**.
  * Author: Eyal Styskin
- * Class object holds table of the highest scores ever made in the game
+ * Class object holds table of the highest scores ever made in the game.
+ * the table is saved in a compact binary format: MAGIC, VERSION, the table's capacity and the number of scores,
+ * and then the name (modified UTF-8) and score of every entry, from the highest score down. the table is
+ * written to a temporary file that is synced to the disk and then renamed over the old file, so a crash while
+ * saving leaves the old table as it was.
  */
-public class HighScoresTable implements Serializable {
+public class HighScoresTable {
+    public static final int MAGIC = 0x41524B53; // "ARKS"
+    public static final int VERSION = 1;
     private List<ScoreInfo> scores;
     private int tableCapacity;
 
@@ -26,8 +37,8 @@ public class HighScoresTable implements Serializable {
      * @param size - integer - max size of table
      */
     public HighScoresTable(int size) {
-        this.scores = new ArrayList<ScoreInfo>(size);
-        this.tableCapacity = 5;
+        this.scores = new ArrayList<ScoreInfo>(Math.min(size, 1024));
+        this.tableCapacity = size;
     }
 
     /**.
@@ -70,17 +81,23 @@ public class HighScoresTable implements Serializable {
      * return the rank of the current score: where will it be on the list if added?
      * Rank 1 means the score will be highest on the list. Rank `size` means the score will be lowest.
      * Rank > `size` means the score is too low and will not be added to the list.
+     * the scores are sorted, so the rank is found by a binary search.
      *
      * @param score - integer - score of the played game
      * @return int - rank
      */
     public int getRank(int score) {
-        for (int i = 0; i < this.scores.size(); ++i) {
-            if (score > this.scores.get(i).getScore()) {
-                return i + 1;
+        int low = 0;
+        int high = this.scores.size();
+        while (low < high) { // the first score that is lower than the given score
+            int middle = (low + high) >>> 1;
+            if (score > this.scores.get(middle).getScore()) {
+                high = middle;
+            } else {
+                low = middle + 1;
             }
         }
-        return this.scores.size() + 1;
+        return low + 1;
     }
 
     /**.
@@ -99,35 +116,42 @@ public class HighScoresTable implements Serializable {
         this.scores.clear();
     }
     /**.
-     * Load table data from file. Current table data is cleared.
+     * Load table data from file. Current table data is cleared, and the table takes the capacity it was saved
+     * with. the entries are read one by one from the stream.
      *
      * @param filename - File of Highscores
      * @throws IOException - Exception cant read the file
      */
     public void load(File filename) throws IOException {
         this.clear();
-        HighScoresTable table;
-        ObjectInputStream objectInputStream = null;
+        DataInputStream in = null;
         try {
-            objectInputStream = new ObjectInputStream(new FileInputStream(filename));
-            table = (HighScoresTable) objectInputStream.readObject();
-            for (int i = 0; i < table.size(); ++i) {
-                this.scores.add(table.getHighScores().get(i));
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(filename)));
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                System.err.println("Not a high scores file of this version: " + filename.getName());
+                return;
+            }
+            int capacity = in.readInt();
+            int count = in.readInt();
+            if (capacity < 0 || count < 0) {
+                System.err.println("Broken high scores file: " + filename.getName());
+                return;
+            }
+            this.tableCapacity = capacity;
+            for (int i = 0; i < count; ++i) {
+                String name = in.readUTF();
+                this.add(new ScoreInfo(name, in.readInt())); // sorted, so every entry is added at the end
             }
         } catch (FileNotFoundException e) { // Can't find file to open
             System.err.println("Unable to find file: " + filename.getName());
             return;
-        } catch (ClassNotFoundException e) { // The class in the stream is unknown to the JVM
-            System.err.println("Unable to find class for object in file: " + filename.getName());
-            return;
-        } catch (IOException e) { // Some other problem
-            System.err.println("Failed reading object");
-            e.printStackTrace(System.err);
+        } catch (EOFException e) { // the file was cut - the entries that were read are kept
+            System.err.println("High scores file ended early: " + filename.getName());
             return;
         } finally {
             try {
-                if (objectInputStream != null) {
-                    objectInputStream.close();
+                if (in != null) {
+                    in.close();
                 }
             } catch (IOException e) {
                 System.err.println("Failed closing file: " + filename.getName());
@@ -137,26 +161,49 @@ public class HighScoresTable implements Serializable {
     }
 
     /**.
-     * Save table data to the specified file.
+     * Save table data to the specified file. the table is written to a temporary file next to it, that is
+     * synced to the disk and then renamed over the file (atomically, where the file system allows it).
      *
      * @param filename - File of highScores
      * @throws IOException - Exception cant read the file
      */
     public void save(File filename) throws IOException {
-        ObjectOutputStream objectOutputStream = null;
+        File temp = new File(filename.getAbsoluteFile().getParentFile(), filename.getName() + ".tmp");
+        FileOutputStream fileOutputStream = null;
         try {
-            objectOutputStream = new ObjectOutputStream(new FileOutputStream(filename));
-            objectOutputStream.writeObject(this);
+            fileOutputStream = new FileOutputStream(temp);
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(this.tableCapacity);
+            out.writeInt(this.scores.size());
+            for (ScoreInfo score : this.scores) {
+                out.writeUTF(score.getName());
+                out.writeInt(score.getScore());
+            }
+            out.flush();
+            fileOutputStream.getFD().sync(); // on the disk before it replaces the old table
+            fileOutputStream.close();
+            fileOutputStream = null;
+            try {
+                Files.move(temp.toPath(), filename.toPath(), StandardCopyOption.ATOMIC_MOVE,
+                        StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp.toPath(), filename.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
         } catch (IOException e) {
-            System.err.println("Failed saving object");
+            System.err.println("Failed saving table");
             e.printStackTrace(System.err);
         } finally {
             try {
-                if (objectOutputStream != null) {
-                    objectOutputStream.close();
+                if (fileOutputStream != null) {
+                    fileOutputStream.close();
                 }
             } catch (IOException e) {
-                System.err.println("Failed closing file: " + filename.getName());
+                System.err.println("Failed closing file: " + temp.getName());
+            }
+            if (temp.exists() && !temp.delete()) { // left only if the table was not saved
+                System.err.println("Failed deleting file: " + temp.getName());
             }
         }
     }
@@ -175,7 +222,7 @@ public class HighScoresTable implements Serializable {
         try {
             highScoresTable.load(filename);
         } catch (IOException e) { // Some other problem
-            System.err.println("Failed reading object");
+            System.err.println("Failed reading table");
             e.printStackTrace(System.err);
         }
         return highScoresTable;
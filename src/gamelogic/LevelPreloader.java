@@ -0,0 +1,170 @@
+package gamelogic;
+
+import animation.AnimationRunner;
+import animation.GameLevel;
+import biuoop.KeyboardSensor;
+import interfaces.LevelInformation;
+import levels.BlockFiller;
+import others.Counter;
+import others.ImageCache;
+import sprites.BlockField;
+import sprites.LivesIndicator;
+import sprites.ScoreIndicator;
+
+import java.util.Iterator;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * author: Eyal Styskin
+ * Class name: LevelPreloader
+ * class operation: loads the levels of a level set for the GameFlow - parses the level, builds its GameLevel
+ * (blocks, paddle, indicators and the spatial index of the blocks) and decodes its images. the next level is
+ * loaded on a background thread while the current level is played, and is handed to the GameFlow when the
+ * current level ends: if it is ready it is taken as it is (the task's state is checked without locking), if its
+ * loading did not start yet it is loaded synchronously, and if it is being loaded the GameFlow waits for it.
+ */
+public class LevelPreloader {
+    private static final ExecutorService LOADER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "level-preload");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private Iterator<LevelInformation> levels;
+    private KeyboardSensor keyboard;
+    private AnimationRunner runner;
+    private Counter numOfLives;
+    private Counter score;
+    private ScoreIndicator scoreIndicator;
+    private LivesIndicator livesIndicator;
+    private FutureTask<GameLevel> next;
+
+    /**
+     * .
+     * Function Operation: Constructor - keeps the levels and the members every GameLevel is built with.
+     *
+     * @param levels         - iterator over the levels of the set (used only by the preloader)
+     * @param keyboard       - the keyboardSensor of the levels
+     * @param runner         - the AnimationRunner of the levels
+     * @param numOfLives     - number of lives the player has
+     * @param score          - the player's score
+     * @param scoreIndicator - the score indicator added to every level
+     * @param livesIndicator - the lives indicator added to every level
+     */
+    public LevelPreloader(Iterator<LevelInformation> levels, KeyboardSensor keyboard, AnimationRunner runner,
+                          Counter numOfLives, Counter score, ScoreIndicator scoreIndicator,
+                          LivesIndicator livesIndicator) {
+        this.levels = levels;
+        this.keyboard = keyboard;
+        this.runner = runner;
+        this.numOfLives = numOfLives;
+        this.score = score;
+        this.scoreIndicator = scoreIndicator;
+        this.livesIndicator = livesIndicator;
+    }
+
+    /**
+     * .
+     * function name: preloadNext
+     * Function Operation: starts loading the next level on the background thread (if it is not loaded already).
+     */
+    public void preloadNext() {
+        if (this.next != null) {
+            return;
+        }
+        this.next = new FutureTask<GameLevel>(new Callable<GameLevel>() {
+            @Override
+            public GameLevel call() {
+                return LevelPreloader.this.load();
+            }
+        });
+        LOADER.execute(this.next);
+    }
+
+    /**
+     * .
+     * function name: next
+     * Function Operation: returns the next level. a preloaded level is taken as it is, or waited for if it is
+     * being loaded; if it was not preloaded, or its loading did not start yet, it is loaded here.
+     *
+     * @return the initialized GameLevel, or null if there are no more levels
+     */
+    public GameLevel next() {
+        FutureTask<GameLevel> task = this.next;
+        this.next = null;
+        if (task == null || task.cancel(false)) { // not started - loaded synchronously
+            return this.load();
+        }
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("level loading interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("cant load level-LevelPreloader", e.getCause());
+        }
+    }
+
+    /**
+     * .
+     * function name: cancel
+     * Function Operation: drops the preloaded level. if it is being loaded, waits until the loading ends, so the
+     * level set is not read after the game ended.
+     */
+    public void cancel() {
+        FutureTask<GameLevel> task = this.next;
+        this.next = null;
+        if (task == null || task.cancel(false)) {
+            return;
+        }
+        try {
+            task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            System.out.println("cant load level-LevelPreloader");
+        }
+    }
+
+    /**
+     * .
+     * function name: load
+     * Function Operation: loads the next level of the set - parses it, builds and initializes its GameLevel and
+     * decodes the images of its blocks' types.
+     *
+     * @return the initialized GameLevel, or null if there are no more levels
+     */
+    private GameLevel load() {
+        LevelInformation levelInfo = null;
+        while (levelInfo == null) { // a level that can not be parsed is skipped
+            if (!this.levels.hasNext()) {
+                return null;
+            }
+            levelInfo = this.levels.next();
+        }
+        GameLevel level = new GameLevel(levelInfo, this.keyboard, this.runner, this.numOfLives, this.score);
+        level.addSprite(levelInfo.getBackground());  // adds the levels background
+        this.scoreIndicator.addToGame(level);
+        this.livesIndicator.addToGame(level);
+        level.initialize();
+        BlockField field = level.getBlockField();
+        for (int type = 0; type < field.getTypeCount(); ++type) {
+            if (field.getTypeFills(type) == null) {
+                continue;
+            }
+            for (BlockFiller filler : field.getTypeFills(type).values()) {
+                if (filler != null && filler.getImagePath() != null) {
+                    ImageCache.get(filler.getImagePath()); // decoded before the level is first drawn
+                }
+            }
+        }
+        return level;
+    }
+}
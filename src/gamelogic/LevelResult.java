@@ -0,0 +1,83 @@
+package gamelogic;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class operation: holds the outcome of a single level in a headless run - if it was cleared,
+ * the number of frames it was played, the lives lost and the score gained in it.
+ */
+public class LevelResult {
+    private String levelName;
+    private boolean cleared;
+    private long frames;
+    private int livesLost;
+    private int score;
+
+    /**
+     * .
+     * constructor - sets the members.
+     *
+     * @param levelName - the name of the level
+     * @param cleared   - true if all of the level's blocks were removed
+     * @param frames    - number of frames the level was played
+     * @param livesLost - number of lives lost in the level
+     * @param score     - the score gained in the level
+     */
+    public LevelResult(String levelName, boolean cleared, long frames, int livesLost, int score) {
+        this.levelName = levelName;
+        this.cleared = cleared;
+        this.frames = frames;
+        this.livesLost = livesLost;
+        this.score = score;
+    }
+
+    /**
+     * .
+     * return the name of the level
+     *
+     * @return String - the level's name
+     */
+    public String getLevelName() {
+        return this.levelName;
+    }
+
+    /**
+     * .
+     * return if the level was cleared
+     *
+     * @return true if all of the level's blocks were removed
+     */
+    public boolean isCleared() {
+        return this.cleared;
+    }
+
+    /**
+     * .
+     * return the number of frames the level was played
+     *
+     * @return long - number of frames
+     */
+    public long getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * .
+     * return the number of lives lost in the level
+     *
+     * @return integer - number of lives
+     */
+    public int getLivesLost() {
+        return this.livesLost;
+    }
+
+    /**
+     * .
+     * return the score gained in the level
+     *
+     * @return integer - the score
+     */
+    public int getScore() {
+        return this.score;
+    }
+}
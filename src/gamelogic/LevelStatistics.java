@@ -0,0 +1,143 @@
+package gamelogic;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class operation: sums the outcomes of a single level over many headless runs - how many runs played
+ * it, how many cleared it, the time it took to clear, the lives lost and the score gained.
+ * every worker of a batch fills its own statistics, and they are merged when the workers are joined.
+ */
+public class LevelStatistics {
+    private String levelName;
+    private int plays;
+    private int clears;
+    private long clearFrames;
+    private long minClearFrames = Long.MAX_VALUE;
+    private long maxClearFrames;
+    private long livesLost;
+    private long score;
+
+    /**
+     * .
+     * constructor - creates empty statistics of the level.
+     *
+     * @param levelName - the name of the level
+     */
+    public LevelStatistics(String levelName) {
+        this.levelName = levelName;
+    }
+
+    /**
+     * .
+     * adds the outcome of the level in a single run.
+     *
+     * @param result - the outcome of the level
+     */
+    public void add(LevelResult result) {
+        this.plays++;
+        this.livesLost += result.getLivesLost();
+        this.score += result.getScore();
+        if (result.isCleared()) {
+            this.clears++;
+            this.clearFrames += result.getFrames();
+            this.minClearFrames = Math.min(this.minClearFrames, result.getFrames());
+            this.maxClearFrames = Math.max(this.maxClearFrames, result.getFrames());
+        }
+    }
+
+    /**
+     * .
+     * adds the statistics of the same level that were summed by another worker.
+     *
+     * @param other - statistics of the same level
+     */
+    public void merge(LevelStatistics other) {
+        this.plays += other.plays;
+        this.clears += other.clears;
+        this.clearFrames += other.clearFrames;
+        this.minClearFrames = Math.min(this.minClearFrames, other.minClearFrames);
+        this.maxClearFrames = Math.max(this.maxClearFrames, other.maxClearFrames);
+        this.livesLost += other.livesLost;
+        this.score += other.score;
+    }
+
+    /**
+     * .
+     * return the name of the level
+     *
+     * @return String - the level's name
+     */
+    public String getLevelName() {
+        return this.levelName;
+    }
+
+    /**
+     * .
+     * return the number of runs that played the level
+     *
+     * @return integer - number of runs
+     */
+    public int getPlays() {
+        return this.plays;
+    }
+
+    /**
+     * .
+     * return the number of runs that cleared the level
+     *
+     * @return integer - number of runs
+     */
+    public int getClears() {
+        return this.clears;
+    }
+
+    /**
+     * .
+     * return the average number of frames it took to clear the level
+     *
+     * @return double - average frames (0 if it was never cleared)
+     */
+    public double getMeanClearFrames() {
+        return this.clears == 0 ? 0 : (double) this.clearFrames / this.clears;
+    }
+
+    /**
+     * .
+     * return the least number of frames it took to clear the level
+     *
+     * @return long - number of frames (0 if it was never cleared)
+     */
+    public long getMinClearFrames() {
+        return this.clears == 0 ? 0 : this.minClearFrames;
+    }
+
+    /**
+     * .
+     * return the largest number of frames it took to clear the level
+     *
+     * @return long - number of frames
+     */
+    public long getMaxClearFrames() {
+        return this.maxClearFrames;
+    }
+
+    /**
+     * .
+     * return the average number of lives lost in the level
+     *
+     * @return double - average lives lost (0 if it was never played)
+     */
+    public double getMeanLivesLost() {
+        return this.plays == 0 ? 0 : (double) this.livesLost / this.plays;
+    }
+
+    /**
+     * .
+     * return the average score gained in the level
+     *
+     * @return double - average score (0 if it was never played)
+     */
+    public double getMeanScore() {
+        return this.plays == 0 ? 0 : (double) this.score / this.plays;
+    }
+}
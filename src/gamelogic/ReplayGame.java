@@ -0,0 +1,69 @@
+package gamelogic;
+
+import animation.InputReplay;
+import animation.Keyframe;
+import interfaces.LevelInformation;
+
+import java.util.List;
+
+/**
+ * author: Eyal Styskin
+ * Class name: ReplayGame
+ * class operation: replays a recorded session (an input log written by an InputRecorder) without a window,
+ * as fast as the cpu allows. the level set, the dt of every frame and step, and every key query come from
+ * the log, so the replay plays the session exactly as it was played, and can be timed as a benchmark.
+ * the replay can start from a frame in the middle of the log: it is restored from the last keyframe before the
+ * frame, so only the frames after the keyframe are played.
+ */
+public class ReplayGame {
+    /**
+     * Function Name:main
+     * Function Operation: replays the input log given in the first argument, and prints the outcome, the
+     * number of ticks replayed, the time it took, and whether the replay diverged from the log.
+     * the second argument (optional) is the frame to start from (through its keyframe), and the third (optional)
+     * is the frame to stop at.
+     *
+     * @param args - path of the input log, the frame to start from and the frame to stop at
+     */
+    public static void main(String[] args) {
+        System.setProperty("java.awt.headless", "true");
+        if (args.length == 0) {
+            System.out.println("usage: ReplayGame <input log> [from frame] [to frame]");
+            return;
+        }
+        long from = 0;
+        long to = Long.MAX_VALUE;
+        try {
+            if (args.length > 1) {
+                from = Long.parseLong(args[1]);
+            }
+            if (args.length > 2) {
+                to = Long.parseLong(args[2]);
+            }
+        } catch (NumberFormatException e) {
+            System.out.println("frame is not a number");
+            return;
+        }
+        InputReplay replay = InputReplay.open(args[0]);
+        if (replay == null) {
+            return;
+        }
+        Keyframe keyframe = null;
+        if (from > 0) {
+            keyframe = replay.seek(from);
+            System.out.println(keyframe == null ? "no keyframe before frame " + from + ", replaying from the start"
+                    : "starting from the keyframe of frame " + keyframe.getTick() + " (level "
+                    + keyframe.getLevelIndex() + ")");
+        }
+        List<LevelInformation> levels = HeadlessGame.readLevels(replay.getLevelSetPath());
+        if (levels == null) {
+            System.out.println("cant load file-ReplayGame");
+            return;
+        }
+        long start = System.nanoTime();
+        SimulationResult result = new HeadlessGame(replay, to).runLevels(levels, keyframe);
+        long millis = (System.nanoTime() - start) / 1000000;
+        System.out.println(result + " ticks=" + replay.getTicks() + " time=" + millis + "ms"
+                + (replay.hasDiverged() ? " DIVERGED" : ""));
+    }
+}
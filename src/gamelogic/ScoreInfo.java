@@ -1,12 +1,10 @@
 package gamelogic;
 
-import java.io.Serializable;
-
 /**.
  * Author: Eyal Styskin
  * Class operation: holds scoreInfo of an player (its name and score)
  */
-public class ScoreInfo implements Serializable {
+public class ScoreInfo {
     private String name;
     private int score;
 
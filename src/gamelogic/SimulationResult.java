@@ -0,0 +1,92 @@
+package gamelogic;
+
+import java.util.List;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class operation: holds the outcome of a headless run of a level set - the score, the lives left,
+ * the number of levels cleared and the number of frames it took, and the outcome of every level played.
+ */
+public class SimulationResult {
+    private int score;
+    private int livesLeft;
+    private int levelsCleared;
+    private long frames;
+    private List<LevelResult> levelResults;
+
+    /**
+     * .
+     * constructor - sets the members.
+     *
+     * @param score         - the score at the end of the run
+     * @param livesLeft     - the lives the player had at the end of the run
+     * @param levelsCleared - number of levels all of their blocks were removed
+     * @param frames        - number of frames the run took
+     * @param levelResults  - the outcome of every level played, in the order they were played
+     */
+    public SimulationResult(int score, int livesLeft, int levelsCleared, long frames,
+                            List<LevelResult> levelResults) {
+        this.score = score;
+        this.livesLeft = livesLeft;
+        this.levelsCleared = levelsCleared;
+        this.frames = frames;
+        this.levelResults = levelResults;
+    }
+
+    /**
+     * .
+     * return this score
+     *
+     * @return integer - this score
+     */
+    public int getScore() {
+        return this.score;
+    }
+
+    /**
+     * .
+     * return the lives left at the end of the run
+     *
+     * @return integer - number of lives
+     */
+    public int getLivesLeft() {
+        return this.livesLeft;
+    }
+
+    /**
+     * .
+     * return the number of levels cleared
+     *
+     * @return integer - number of levels
+     */
+    public int getLevelsCleared() {
+        return this.levelsCleared;
+    }
+
+    /**
+     * .
+     * return the number of frames the run took
+     *
+     * @return long - number of frames
+     */
+    public long getFrames() {
+        return this.frames;
+    }
+
+    /**
+     * .
+     * return the outcome of every level played
+     *
+     * @return list of LevelResults, in the order the levels were played
+     */
+    public List<LevelResult> getLevelResults() {
+        return this.levelResults;
+    }
+
+    @Override
+    public String toString() {
+        return "score=" + this.score + " lives=" + this.livesLeft + " levels=" + this.levelsCleared
+                + " frames=" + this.frames;
+    }
+}
@@ -10,6 +10,11 @@ import java.util.ArrayList;
  */
 
 public class Rectangle {
+    public static final int NO_FACE = 0;
+    public static final int TOP_FACE = 1;
+    public static final int BOTTOM_FACE = 2;
+    public static final int LEFT_FACE = 3;
+    public static final int RIGHT_FACE = 4;
     private Point upperLeft;
     private Point upperRight;
     private Point downRight;
@@ -82,6 +87,165 @@ public class Rectangle {
         return intersections;
     }
 
+    /**
+     * .
+     * function name: segmentEntry
+     * Function Operation: parametric slab test of the segment (x0,y0) + t * (dx,dy), 0 <= t <= 1, against
+     * this rectangle. the segment's entry time is the latest of its entry times to the x slab and the y slab, and
+     * the face is the side of the slab entered last. a segment that starts inside the rectangle does not enter it.
+     * the method works on doubles only and writes the result to the given holder, so it creates no objects.
+     *
+     * @param x0  - x value of the segment's start
+     * @param y0  - y value of the segment's start
+     * @param dx  - progress of the segment on X-axis
+     * @param dy  - progress of the segment on Y-axis
+     * @param hit - holder that gets the entry time and face, if the segment enters the rectangle
+     * @return true if the segment enters the rectangle, false if not
+     */
+    public boolean segmentEntry(double x0, double y0, double dx, double dy, SegmentHit hit) {
+        return this.segmentEntry(x0, y0, dx, dy, 0, hit);
+    }
+
+    /**
+     * .
+     * function name: segmentEntry
+     * Function Operation: swept-circle version of the slab test. a circle with the given radius, whose center
+     * moves along the segment, touches the rectangle when its center enters the rectangle grown by the radius on
+     * every side, so the slab test runs against the grown rectangle (its corners are kept square).
+     *
+     * @param x0     - x value of the circle center at the segment's start
+     * @param y0     - y value of the circle center at the segment's start
+     * @param dx     - progress of the segment on X-axis
+     * @param dy     - progress of the segment on Y-axis
+     * @param radius - the radius of the moving circle
+     * @param hit    - holder that gets the entry time and face, if the circle touches the rectangle
+     * @return true if the circle touches the rectangle along the segment, false if not
+     */
+    public boolean segmentEntry(double x0, double y0, double dx, double dy, double radius, SegmentHit hit) {
+        return segmentEntry(this.upperLeft.getX(), this.upperLeft.getY(), this.width, this.height,
+                x0, y0, dx, dy, radius, hit);
+    }
+
+    /**
+     * .
+     * function name: segmentEntry
+     * Function Operation: the slab test on a rectangle given by its bounds only, for callers that keep
+     * rectangles as plain numbers (see the instance method for the details of the test).
+     *
+     * @param rectX      - x value of the rectangle's upper left corner
+     * @param rectY      - y value of the rectangle's upper left corner
+     * @param rectWidth  - the width of the rectangle
+     * @param rectHeight - the height of the rectangle
+     * @param x0         - x value of the circle center at the segment's start
+     * @param y0         - y value of the circle center at the segment's start
+     * @param dx         - progress of the segment on X-axis
+     * @param dy         - progress of the segment on Y-axis
+     * @param radius     - the radius of the moving circle (0 for a point)
+     * @param hit        - holder that gets the entry time and face, if the circle touches the rectangle
+     * @return true if the circle touches the rectangle along the segment, false if not
+     */
+    public static boolean segmentEntry(double rectX, double rectY, double rectWidth, double rectHeight,
+                                       double x0, double y0, double dx, double dy, double radius,
+                                       SegmentHit hit) {
+        double left = rectX - radius;
+        double top = rectY - radius;
+        double right = rectX + rectWidth + radius;
+        double bottom = rectY + rectHeight + radius;
+        double tEnter = Double.NEGATIVE_INFINITY;
+        double tExit = Double.POSITIVE_INFINITY;
+        int face = NO_FACE;
+        if (dx == 0) { // parallel to the x slab - must start inside it
+            if (x0 < left || x0 > right) {
+                return false;
+            }
+        } else {
+            double t1 = (left - x0) / dx;
+            double t2 = (right - x0) / dx;
+            if (dx > 0) {
+                tEnter = t1;
+                tExit = t2;
+                face = LEFT_FACE;
+            } else {
+                tEnter = t2;
+                tExit = t1;
+                face = RIGHT_FACE;
+            }
+        }
+        if (dy == 0) { // parallel to the y slab - must start inside it
+            if (y0 < top || y0 > bottom) {
+                return false;
+            }
+        } else {
+            double t1 = (top - y0) / dy;
+            double t2 = (bottom - y0) / dy;
+            double tyEnter = dy > 0 ? t1 : t2;
+            double tyExit = dy > 0 ? t2 : t1;
+            if (tyEnter > tEnter) {
+                tEnter = tyEnter;
+                face = dy > 0 ? TOP_FACE : BOTTOM_FACE;
+            }
+            if (tyExit < tExit) {
+                tExit = tyExit;
+            }
+        }
+        if (face == NO_FACE || tEnter > tExit || tEnter < 0 || tEnter > 1) {
+            return false;
+        }
+        hit.set(tEnter, face);
+        return true;
+    }
+
+    /**
+     * .
+     * function name: entryPoint
+     * Function Operation: creates the Point where the segment (or the circle moving along it) touches this
+     * rectangle, according to the result of segmentEntry. the coordinate across the entered face is set exactly
+     * on that face, and the other coordinate is kept inside the face.
+     *
+     * @param x0  - x value of the segment's start
+     * @param y0  - y value of the segment's start
+     * @param dx  - progress of the segment on X-axis
+     * @param dy  - progress of the segment on Y-axis
+     * @param hit - the result of segmentEntry for the same segment
+     * @return the entry Point
+     */
+    public Point entryPoint(double x0, double y0, double dx, double dy, SegmentHit hit) {
+        return entryPoint(this.upperLeft.getX(), this.upperLeft.getY(), this.width, this.height,
+                x0, y0, dx, dy, hit);
+    }
+
+    /**
+     * .
+     * function name: entryPoint
+     * Function Operation: entryPoint on a rectangle given by its bounds only.
+     *
+     * @param rectX      - x value of the rectangle's upper left corner
+     * @param rectY      - y value of the rectangle's upper left corner
+     * @param rectWidth  - the width of the rectangle
+     * @param rectHeight - the height of the rectangle
+     * @param x0         - x value of the segment's start
+     * @param y0         - y value of the segment's start
+     * @param dx         - progress of the segment on X-axis
+     * @param dy         - progress of the segment on Y-axis
+     * @param hit        - the result of segmentEntry for the same segment
+     * @return the entry Point
+     */
+    public static Point entryPoint(double rectX, double rectY, double rectWidth, double rectHeight,
+                                   double x0, double y0, double dx, double dy, SegmentHit hit) {
+        double x = Math.max(rectX, Math.min(rectX + rectWidth, x0 + dx * hit.getTime()));
+        double y = Math.max(rectY, Math.min(rectY + rectHeight, y0 + dy * hit.getTime()));
+        if (hit.getFace() == LEFT_FACE) {
+            x = rectX;
+        } else if (hit.getFace() == RIGHT_FACE) {
+            x = rectX + rectWidth;
+        } else if (hit.getFace() == TOP_FACE) {
+            y = rectY;
+        } else if (hit.getFace() == BOTTOM_FACE) {
+            y = rectY + rectHeight;
+        }
+        return new Point(x, y);
+    }
+
     /**
      * .
      * function name: intersectionPoints
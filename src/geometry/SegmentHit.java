@@ -0,0 +1,78 @@
+package geometry;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: SegmentHit
+ * class operation: a reusable holder for the result of Rectangle's segmentEntry test.
+ * it keeps the entry time (0 is the segment's start and 1 its end) and the face of the
+ * rectangle that was entered. the caller owns it and fills it again on every test, so the
+ * test itself does not create any object.
+ */
+public class SegmentHit {
+    private double time;
+    private int face;
+
+    /**
+     * .
+     * function name: set
+     * Function Operation: sets the entry time and the face members.
+     *
+     * @param entryTime - normalized time of the entry along the segment
+     * @param entryFace - the face of the rectangle (one of Rectangle's face constants)
+     */
+    public void set(double entryTime, int entryFace) {
+        this.time = entryTime;
+        this.face = entryFace;
+    }
+
+    /**
+     * .
+     * function name: getTime
+     * Function Operation: getter for the entry time
+     *
+     * @return the entry time, from 0 to 1
+     */
+    public double getTime() {
+        return this.time;
+    }
+
+    /**
+     * .
+     * function name: getFace
+     * Function Operation: getter for the entered face
+     *
+     * @return one of Rectangle's face constants
+     */
+    public int getFace() {
+        return this.face;
+    }
+
+    /**
+     * .
+     * function name: getNormalX
+     * Function Operation: returns the x value of the entered face's normal (pointing out of the rectangle)
+     *
+     * @return -1 for the left face, 1 for the right face, and 0 otherwise
+     */
+    public double getNormalX() {
+        if (this.face == Rectangle.LEFT_FACE) {
+            return -1;
+        }
+        return this.face == Rectangle.RIGHT_FACE ? 1 : 0;
+    }
+
+    /**
+     * .
+     * function name: getNormalY
+     * Function Operation: returns the y value of the entered face's normal (pointing out of the rectangle)
+     *
+     * @return -1 for the top face, 1 for the bottom face, and 0 otherwise
+     */
+    public double getNormalY() {
+        if (this.face == Rectangle.TOP_FACE) {
+            return -1;
+        }
+        return this.face == Rectangle.BOTTOM_FACE ? 1 : 0;
+    }
+}
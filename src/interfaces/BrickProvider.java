@@ -0,0 +1,22 @@
+package interfaces;
+
+import sprites.BlockField;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Interface name: BrickProvider
+ * Interface operation: a LevelInformation whose bricks can be added straight to the arrays of a BlockField,
+ * without creating a Block for every brick first (like a level of a level pack).
+ */
+public interface BrickProvider {
+    /**
+     * .
+     * function name: addBricksTo
+     * Function Operation: adds all the bricks of the level to the field.
+     *
+     * @param field - the field of the level's bricks
+     * @return the number of bricks added
+     */
+    int addBricksTo(BlockField field);
+}
@@ -0,0 +1,101 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Interface name: BrickSource
+ * Interface operation: the bricks a BlockLayer draws - the live bricks of a BlockField, or a snapshot of them.
+ * a brick is known by its index, and has a place, a size, hit points and a type.
+ */
+public interface BrickSource {
+    /**
+     * .
+     * function name: size
+     * Function Operation: returns the number of bricks (live or removed).
+     *
+     * @return number of bricks
+     */
+    int size();
+
+    /**
+     * .
+     * function name: isAlive
+     * Function Operation: returns true if the brick was not removed.
+     *
+     * @param i - the brick's index
+     * @return true if the brick is live
+     */
+    boolean isAlive(int i);
+
+    /**
+     * .
+     * function name: getX
+     * Function Operation: returns the x value of the brick's upper left corner.
+     *
+     * @param i - the brick's index
+     * @return x value
+     */
+    double getX(int i);
+
+    /**
+     * .
+     * function name: getY
+     * Function Operation: returns the y value of the brick's upper left corner.
+     *
+     * @param i - the brick's index
+     * @return y value
+     */
+    double getY(int i);
+
+    /**
+     * .
+     * function name: getWidth
+     * Function Operation: returns the brick's width.
+     *
+     * @param i - the brick's index
+     * @return width
+     */
+    double getWidth(int i);
+
+    /**
+     * .
+     * function name: getHeight
+     * Function Operation: returns the brick's height.
+     *
+     * @param i - the brick's index
+     * @return height
+     */
+    double getHeight(int i);
+
+    /**
+     * .
+     * function name: getHitPoints
+     * Function Operation: returns the brick's hit points.
+     *
+     * @param i - the brick's index
+     * @return hit points
+     */
+    int getHitPoints(int i);
+
+    /**
+     * .
+     * function name: getTypeId
+     * Function Operation: returns the brick's type (its fillers and stroke).
+     *
+     * @param i - the brick's index
+     * @return the type's id
+     */
+    int getTypeId(int i);
+
+    /**
+     * .
+     * function name: drawBrick
+     * Function Operation: draws the brick on the surface.
+     *
+     * @param d - the surface to draw on
+     * @param i - the brick's index
+     */
+    void drawBrick(DrawSurface d, int i);
+}
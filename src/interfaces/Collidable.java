@@ -1,6 +1,6 @@
 package interfaces;
-import geometry.Point;
 import geometry.Rectangle;
+import others.CollisionInfo;
 import others.Velocity;
 import sprites.Ball;
 
@@ -26,14 +26,14 @@ public interface Collidable {
 
     /**
      * function name: hit
-     * Function Operation: change the velocity according to the collision point
-     * location.
+     * Function Operation: change the velocity according to the collision
+     * (its point and the normal of the face that was hit).
      *
-     * @param collisionPoint  - Point type (x,y) of the collision
+     * @param collision       - the information about the collision (point, time and face normal)
      * @param currentVelocity - the ball's current velocity
      * @param hitter - the Ball hits the collidable object
      * @return Velocity - new velocity after change
      */
-    Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity);
+    Velocity hit(Ball hitter, CollisionInfo collision, Velocity currentVelocity);
 }
 
@@ -0,0 +1,24 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Interface name: InterpolatedSprite
+ * Interface operation: a Sprite that moves in the logic steps, and can be drawn between its place before the
+ * last step and its current place. when the frames are drawn more often than the steps run, drawing every
+ * frame at the right part of the way makes the movement smooth.
+ */
+public interface InterpolatedSprite extends Sprite {
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: draws the sprite at the given part of the way from its place before the last step
+     * (0) to its current place (1).
+     *
+     * @param d     - the surface to draw on
+     * @param alpha - the part of the way, from 0 to 1
+     */
+    void drawOn(DrawSurface d, double alpha);
+}
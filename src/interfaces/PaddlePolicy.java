@@ -0,0 +1,26 @@
+package interfaces;
+
+import animation.GameLevel;
+import animation.ScriptedKeyboardSensor;
+
+import java.util.Random;
+
+/**
+ * author: Eyal Styskin
+ * Interface name: PaddlePolicy
+ * Interface operation: plays the paddle in a headless run. before every frame the policy looks at
+ * the level and decides which keys of the scripted keyboard are pressed.
+ * a policy keeps no state of its own - the run's Random is the only source of its choices, so the
+ * same seed always plays the same game.
+ */
+public interface PaddlePolicy {
+    /**
+     * Function Name: nextFrame
+     * Function Operation: presses and releases the keys of the keyboard for the next frame.
+     *
+     * @param level    - the level being played
+     * @param keyboard - the scripted keyboard the paddle reads
+     * @param random   - the Random of the current run
+     */
+    void nextFrame(GameLevel level, ScriptedKeyboardSensor keyboard, Random random);
+}
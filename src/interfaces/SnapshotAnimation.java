@@ -0,0 +1,20 @@
+package interfaces;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Interface name: SnapshotAnimation
+ * Interface operation: a SteppedAnimation whose current look can be taken as a snapshot. in the render-thread
+ * mode of the AnimationRunner, the steps run on one thread, and after every step the snapshot is handed to
+ * a render thread that draws the newest one it got.
+ */
+public interface SnapshotAnimation extends SteppedAnimation {
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns a sprite that draws the current look of the animation, and is never changed.
+     *
+     * @return the snapshot
+     */
+    Sprite snapshot();
+}
@@ -0,0 +1,20 @@
+package interfaces;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Interface name: SnapshotSprite
+ * Interface operation: a Sprite that changes during the game, and can give a snapshot of its current look -
+ * a Sprite that is never changed afterwards, so it can be drawn by another thread while the game goes on.
+ * sprites that never change (like the backgrounds) are drawn as they are, and do not need to implement it.
+ */
+public interface SnapshotSprite extends Sprite {
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns a sprite that draws the current look of this sprite, and is never changed.
+     *
+     * @return the snapshot
+     */
+    Sprite snapshot();
+}
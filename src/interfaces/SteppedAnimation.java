@@ -0,0 +1,37 @@
+package interfaces;
+
+import biuoop.DrawSurface;
+
+/**
+ * author: Eyal Styskin
+ * Interface name: SteppedAnimation
+ * Interface operation: an Animation whose logic (the physics) and drawing can run separately.
+ * in the fixed-timestep mode of the AnimationRunner, step is called in fixed time increments
+ * (maybe several times, or not at all, between two frames), and render is called once every frame.
+ * doOneFrame of such an animation is a single step followed by render, so the frame shows the input of
+ * its own step.
+ */
+public interface SteppedAnimation extends Animation {
+    /**
+     * Function Name: step
+     * Function Operation: advances the logic of the animation by dt seconds, without drawing.
+     * @param dt - the length of the step, in seconds
+     */
+    void step(double dt);
+
+    /**
+     * Function Name: render
+     * Function Operation: draws the current state of the animation on the drawsurface.
+     * @param d - Drawsurface to draw on
+     */
+    void render(DrawSurface d);
+
+    /**
+     * Function Name: render
+     * Function Operation: draws the state of the animation, with the moving objects at the given part of
+     * the way from their state before the last step (0) to their current state (1).
+     * @param d - Drawsurface to draw on
+     * @param alpha - the part of the way of the last step, from 0 to 1
+     */
+    void render(DrawSurface d, double alpha);
+}
@@ -0,0 +1,132 @@
+package levels;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLConnection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: BlockDefinitionsCache
+ * class operation: keeps the parsed BlocksFromSymbolsFactory of every block definitions file (by its resource
+ * path), so the levels of a set that use the same file - and the next plays of the set - share a single
+ * parsed factory instead of reading the file again. the factory is immutable, so it is shared as it is.
+ * the resource's stamp (its last modified time and length) is kept with the factory, and the file is parsed
+ * again only if the stamp changed.
+ */
+public class BlockDefinitionsCache {
+    private static final Map<String, Entry> FACTORIES = new ConcurrentHashMap<String, Entry>();
+
+    /**
+     * .
+     * function name: get
+     * Function Operation: returns the parsed factory of the resource path, and parses the file if it is not in
+     * the cache or it changed since it was parsed.
+     *
+     * @param path - the resource path of the block definitions
+     * @return the factory, or null if the file can not be read
+     */
+    public static BlocksFromSymbolsFactory get(String path) {
+        URL url = ClassLoader.getSystemClassLoader().getResource(path);
+        if (url == null) {
+            System.out.println("block definitions not found-BlockDefinitionsCache");
+            return null;
+        }
+        long stamp = stampOf(url);
+        Entry entry = FACTORIES.get(path);
+        if (entry != null && entry.stamp == stamp) {
+            return entry.factory;
+        }
+        BlocksFromSymbolsFactory factory = parse(url);
+        if (factory != null) {
+            FACTORIES.put(path, new Entry(factory, stamp));
+        }
+        return factory;
+    }
+
+    /**
+     * .
+     * function name: clear
+     * Function Operation: drops all the parsed factories.
+     */
+    public static void clear() {
+        FACTORIES.clear();
+    }
+
+    /**
+     * .
+     * function name: parse
+     * Function Operation: reads and parses the block definitions file.
+     *
+     * @param url - the resource of the file
+     * @return the factory, or null if the file can not be read
+     */
+    private static BlocksFromSymbolsFactory parse(URL url) {
+        try {
+            InputStream is = url.openStream();
+            Reader reader = new InputStreamReader(is);
+            try {
+                return BlocksDefinitionReader.fromReader(reader);
+            } finally {
+                reader.close();
+            }
+        } catch (IOException e) {
+            System.out.println("cant read block definitions-BlockDefinitionsCache");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * function name: stampOf
+     * Function Operation: returns a stamp of the resource's version - its last modified time and its length
+     * (a file is checked without opening it).
+     *
+     * @param url - the resource
+     * @return the stamp, or 0 if it is not known (then the parsed factory is kept)
+     */
+    private static long stampOf(URL url) {
+        try {
+            if ("file".equals(url.getProtocol())) {
+                File file = new File(url.toURI());
+                return file.lastModified() * 31 + file.length();
+            }
+            URLConnection connection = url.openConnection();
+            return connection.getLastModified() * 31 + connection.getContentLengthLong();
+        } catch (IOException e) {
+            return 0;
+        } catch (URISyntaxException e) {
+            return 0;
+        }
+    }
+
+    /**
+     * .
+     * author: Eyal Styskin
+     * Class name: Entry
+     * class operation: a parsed factory, with the stamp of the file it was parsed from.
+     */
+    private static class Entry {
+        private final BlocksFromSymbolsFactory factory;
+        private final long stamp;
+
+        /**
+         * .
+         * Function Operation: constructor - keeps the factory and the stamp.
+         *
+         * @param factory - the parsed factory
+         * @param stamp   - the stamp of the file
+         */
+        Entry(BlocksFromSymbolsFactory factory, long stamp) {
+            this.factory = factory;
+            this.stamp = stamp;
+        }
+    }
+}
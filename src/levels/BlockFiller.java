@@ -2,11 +2,10 @@ package levels;
 
 import biuoop.DrawSurface;
 import geometry.Rectangle;
+import others.ImageCache;
 
-import javax.imageio.ImageIO;
 import java.awt.Image;
 import java.awt.Color;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Map;
 import java.util.TreeMap;
@@ -17,7 +16,7 @@ import java.util.TreeMap;
  * Operation: fills the block with the necessary : image/color (regular/ selected from RGB)
  */
 public class BlockFiller {
-    private Image image;
+    private String imagePath;
     private Color color;
 
     /**
@@ -37,24 +36,15 @@ public class BlockFiller {
      * @param fillerDesc - String with block filler description
      */
     public BlockFiller(String fillerDesc) {
-        if (fillerDesc.contains("image")) {
-            try {
-                if (fillerDesc.contains("fill-")) {
-                    InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(fillerDesc.substring(
-                            "fill-k:image(".length(), fillerDesc.length() - 1));
-                    this.image = ImageIO.read(is);
-                    this.color = null;
-                    return;
-                } else {
-                    InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(fillerDesc.substring(
-                            "fill:image(".length(), fillerDesc.length() - 1));
-                    this.image = ImageIO.read(is);
-                    this.color = null;
-                    return;
-                }
-            } catch (Exception e) {
-                System.out.println("can't load image-BlockFiller");
+        if (fillerDesc.contains("image")) { // the image is read once, by the ImageCache
+            if (fillerDesc.contains("fill-")) {
+                this.imagePath = fillerDesc.substring("fill-k:image(".length(), fillerDesc.length() - 1);
+            } else {
+                this.imagePath = fillerDesc.substring("fill:image(".length(), fillerDesc.length() - 1);
             }
+            this.color = null;
+            ImageCache.prefetch(this.imagePath);
+            return;
         } else if (fillerDesc.contains("RGB")) {
             String rgbDesc = new String();
             if (fillerDesc.contains("-")) {
@@ -69,7 +59,7 @@ public class BlockFiller {
             }
             this.color = new Color(colorNumbs.get(0),
                     colorNumbs.get(1), colorNumbs.get(2));
-            this.image = null;
+            this.imagePath = null;
             return;
         } else {
             Map<String, Color> colors = BlockFiller.createColorMap();
@@ -82,10 +72,24 @@ public class BlockFiller {
                         "fill:color(".length(), fillerDesc.length() - 1);
             }
             this.color = colors.get(colorFound);
-            this.image = null;
+            this.imagePath = null;
         }
     }
 
+    /**
+     * .
+     * creates a filler that draws the image (read once, by the ImageCache)
+     *
+     * @param path - the path of the image
+     * @return the filler
+     */
+    public static BlockFiller ofImage(String path) {
+        BlockFiller filler = new BlockFiller((Color) null);
+        filler.imagePath = path;
+        ImageCache.prefetch(path);
+        return filler;
+    }
+
     /**
      * Static method that creates a map of key:Strings with colors and values: Color type colors.
      *
@@ -115,14 +119,29 @@ public class BlockFiller {
      * @param rectangle - the rectangle to fill in
      */
     public void drawBlock(DrawSurface d, Rectangle rectangle) {
-        if (this.image == null) {
+        this.drawBlock(d, (int) rectangle.getUpperLeft().getX(), (int) rectangle.getUpperLeft().getY(),
+                (int) rectangle.getWidth(), (int) rectangle.getHeight());
+    }
+
+    /**
+     * .
+     * draws the block according to its members, on a rectangle given by its bounds
+     *
+     * @param d      - the drawsurface to draw on
+     * @param x      - x value of the upper left corner
+     * @param y      - y value of the upper left corner
+     * @param width  - the width of the rectangle
+     * @param height - the height of the rectangle
+     */
+    public void drawBlock(DrawSurface d, int x, int y, int width, int height) {
+        if (this.imagePath == null) {
             d.setColor(this.color);
-            d.fillRectangle((int) rectangle.getUpperLeft().getX(),
-                    (int) rectangle.getUpperLeft().getY(),
-                    (int) rectangle.getWidth(), (int) rectangle.getHeight());
+            d.fillRectangle(x, y, width, height);
         } else {
-            d.drawImage((int) rectangle.getUpperLeft().getX(),
-                    (int) rectangle.getUpperLeft().getY(), this.image);
+            Image image = ImageCache.get(this.imagePath);
+            if (image != null) {
+                d.drawImage(x, y, image);
+            }
         }
     }
 
@@ -136,5 +155,15 @@ public class BlockFiller {
         return this.color;
     }
 
+    /**
+     * .
+     * return the image path member
+     *
+     * @return the path of the image, or null if the filler is a color
+     */
+    public String getImagePath() {
+        return this.imagePath;
+    }
+
 }
 
@@ -0,0 +1,111 @@
+package levels;
+
+import geometry.Point;
+import geometry.Rectangle;
+import interfaces.BlockCreator;
+import sprites.Block;
+
+import java.awt.Color;
+import java.util.Collections;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class Operation : a block definition ("bdef") of a block definitions file - the size, hit points, fillers and
+ * stroke of its blocks. a type is immutable, so the types of a parsed file are shared by all the levels (and
+ * threads) that use the file. the blocks it creates share its fillers map.
+ */
+public class BlockType implements BlockCreator {
+    private final int width;
+    private final int height;
+    private final int hitPoints;
+    private final Map<Integer, BlockFiller> fills;
+    private final Color stroke;
+
+    /**
+     * .
+     * constructor - sets the definition of the blocks.
+     *
+     * @param width     - the width of the blocks
+     * @param height    - the height of the blocks
+     * @param hitPoints - the hit points the blocks start with
+     * @param fills     - map of hit points and BlockFillers (copied)
+     * @param stroke    - the stroke color (or null)
+     */
+    public BlockType(int width, int height, int hitPoints, Map<Integer, BlockFiller> fills, Color stroke) {
+        this.width = width;
+        this.height = height;
+        this.hitPoints = hitPoints;
+        this.fills = Collections.unmodifiableMap(new TreeMap<Integer, BlockFiller>(fills));
+        this.stroke = stroke;
+    }
+
+    /**
+     * .
+     * creates a block of this type at the location.
+     *
+     * @param xpos - x value of top left point of block
+     * @param ypos - y value of left top point of block
+     * @return - new Block object
+     */
+    @Override
+    public Block create(int xpos, int ypos) {
+        Block block = new Block(new Rectangle(new Point(xpos, ypos), this.width, this.height));
+        block.setHitPoints(this.hitPoints);
+        block.setColorsMap(this.fills);
+        block.setStroke(this.stroke);
+        return block;
+    }
+
+    /**
+     * .
+     * return the width of the blocks
+     *
+     * @return the width
+     */
+    public int getWidth() {
+        return this.width;
+    }
+
+    /**
+     * .
+     * return the height of the blocks
+     *
+     * @return the height
+     */
+    public int getHeight() {
+        return this.height;
+    }
+
+    /**
+     * .
+     * return the hit points the blocks start with
+     *
+     * @return the hit points
+     */
+    public int getHitPoints() {
+        return this.hitPoints;
+    }
+
+    /**
+     * .
+     * return the fillers of the blocks (can not be changed)
+     *
+     * @return map of hit points and BlockFillers
+     */
+    public Map<Integer, BlockFiller> getFills() {
+        return this.fills;
+    }
+
+    /**
+     * .
+     * return the stroke of the blocks
+     *
+     * @return the stroke color, or null
+     */
+    public Color getStroke() {
+        return this.stroke;
+    }
+}
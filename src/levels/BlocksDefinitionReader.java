@@ -1,9 +1,6 @@
 package levels;
 
-import geometry.Point;
-import geometry.Rectangle;
 import interfaces.BlockCreator;
-import sprites.Block;
 
 import java.awt.Color;
 import java.io.BufferedReader;
@@ -97,17 +94,7 @@ public class BlocksDefinitionReader {
 
                 Map<Integer, BlockFiller> blocksHits = BlocksDefinitionReader.blockColors(
                         splited, defaults);
-                BlockCreator newBlock = new BlockCreator() {
-                    @Override
-                    public Block create(int xpos, int ypos) {
-                        Block block = new Block(new Rectangle(new Point(xpos, ypos), width, height));
-                        block.setHitPoints(hitPoints);
-                        block.setColorsMap(blocksHits);
-                        block.setStroke(stroke);
-                        return block;
-                    }
-                };
-                blockCreators.put(symbol, newBlock);
+                blockCreators.put(symbol, new BlockType(width, height, hitPoints, blocksHits, stroke));
             }
         } catch (Exception e) {
             System.out.println("cant find block info-blocksDefinitionReader");
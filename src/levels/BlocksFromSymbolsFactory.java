@@ -3,16 +3,20 @@ package levels;
 import interfaces.BlockCreator;
 import sprites.Block;
 
+import java.util.Collections;
 import java.util.Map;
+import java.util.TreeMap;
 
 /**
  * Author:Eyal Styskin.
  * the class keeps all the definitions of the symbols (with widths) and
  * all the blocks (According to its symbol
+ * the factory can not be changed after it is created, so a parsed file is shared by all the levels that use it
+ * (see BlockDefinitionsCache).
  */
 public class BlocksFromSymbolsFactory {
-    private Map<String, Integer> spacerWidths;
-    private Map<String, BlockCreator> blockCreators;
+    private final Map<String, Integer> spacerWidths;
+    private final Map<String, BlockCreator> blockCreators;
 
     /**
      * constructor.
@@ -21,8 +25,8 @@ public class BlocksFromSymbolsFactory {
      */
     public BlocksFromSymbolsFactory(Map<String, Integer> spacerWidths,
                                     Map<String, BlockCreator> blockCreators) {
-        this.spacerWidths = spacerWidths;
-        this.blockCreators = blockCreators;
+        this.spacerWidths = Collections.unmodifiableMap(new TreeMap<String, Integer>(spacerWidths));
+        this.blockCreators = Collections.unmodifiableMap(new TreeMap<String, BlockCreator>(blockCreators));
     }
     /**
      * returns true if 's' is a valid space symbol.
@@ -0,0 +1,318 @@
+package levels;
+
+import interfaces.LevelInformation;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class Operation : a level set that is read lazily. the level definitions file is read in one streaming pass that
+ * only keeps the offsets of the START_LEVEL...END_LEVEL sections, and the pass goes only as far as the levels that
+ * were asked - so the first level is ready after reading its own section, no matter how many levels the set has.
+ * a level is parsed (with its blocks and images) the first time it is asked, and then kept.
+ * a file is read again at the section's offsets when its level is parsed. a resource of the class path that is not
+ * a file can not be read again, so the bytes of its sections (not parsed) are kept until their levels are parsed.
+ * the iterator reads only the next section, so iterating the set never reads further than the played levels,
+ * while size() indexes the whole file. the iterator skips a level that can not be parsed (like the
+ * LevelSpecificationReader does), while get returns null for it. the set may be read by more than one thread.
+ */
+public class LazyLevelSet extends AbstractList<LevelInformation> implements Closeable {
+    private static final String START = "START_LEVEL";
+    private static final String END = "END_LEVEL";
+    private InputStream in; // the indexed stream, null when it was read to its end
+    private RandomAccessFile file; // for reading the sections again, null for a resource
+    private byte[] chunk = new byte[8192];
+    private int chunkPos = 0;
+    private int chunkLength = 0;
+    private long position = 0; // offset of the next byte of the stream
+    private boolean skipLineFeed = false;
+    private ByteArrayOutputStream line = new ByteArrayOutputStream();
+    private List<long[]> sections = new ArrayList<long[]>(); // start and end offsets of every section
+    private List<byte[]> sectionBytes = new ArrayList<byte[]>(); // kept bytes of a resource's sections
+    private List<LevelInformation> levels = new ArrayList<LevelInformation>();
+
+    /**
+     * .
+     * constructor - indexes the stream lazily.
+     *
+     * @param in   - the level definitions
+     * @param file - the same file, to read the sections again (or null for a resource)
+     */
+    private LazyLevelSet(InputStream in, RandomAccessFile file) {
+        this.in = in;
+        this.file = file;
+    }
+
+    /**
+     * .
+     * opens the level definitions from the file, or from the class path if there is no such file.
+     * nothing is read until a level is asked.
+     *
+     * @param path - path of the level definitions
+     * @return - the lazy level set, or null if the file was not found
+     */
+    public static LazyLevelSet open(String path) {
+        try {
+            if (new File(path).exists()) {
+                return new LazyLevelSet(new FileInputStream(path), new RandomAccessFile(path, "r"));
+            }
+            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+            if (is == null) {
+                System.out.println("level definitions not found-LazyLevelSet");
+                return null;
+            }
+            return new LazyLevelSet(is, null);
+        } catch (IOException e) {
+            System.out.println("cant read from files-LazyLevelSet");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * returns the level, and parses it if it was not parsed yet.
+     *
+     * @param index - the index of the level in the set
+     * @return the level, or null if it can not be parsed
+     */
+    @Override
+    public synchronized LevelInformation get(int index) {
+        if (index < 0 || this.indexUntil(index + 1) <= index) {
+            throw new IndexOutOfBoundsException("level " + index);
+        }
+        LevelInformation level = this.levels.get(index);
+        if (level == null) {
+            level = this.parse(index);
+            this.levels.set(index, level);
+        }
+        return level;
+    }
+
+    /**
+     * .
+     * returns the number of levels - the whole file is indexed.
+     *
+     * @return the number of levels in the set
+     */
+    @Override
+    public synchronized int size() {
+        return this.indexUntil(Integer.MAX_VALUE);
+    }
+
+    /**
+     * .
+     * returns an iterator over the levels, that reads only the section of the next level. a level that can not
+     * be parsed is skipped.
+     *
+     * @return the iterator
+     */
+    @Override
+    public Iterator<LevelInformation> iterator() {
+        return new Iterator<LevelInformation>() {
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                synchronized (LazyLevelSet.this) {
+                    while (LazyLevelSet.this.indexUntil(this.next + 1) > this.next) {
+                        if (LazyLevelSet.this.get(this.next) != null) { // parsed, and kept for next()
+                            return true;
+                        }
+                        this.next++; // "cant add level" - the rest are played
+                    }
+                    return false;
+                }
+            }
+
+            @Override
+            public LevelInformation next() {
+                if (!this.hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                return LazyLevelSet.this.get(this.next++);
+            }
+        };
+    }
+
+    /**
+     * .
+     * closes the file (the levels that were parsed are kept).
+     */
+    @Override
+    public synchronized void close() {
+        try {
+            if (this.in != null) {
+                this.in.close();
+                this.in = null;
+            }
+            if (this.file != null) {
+                this.file.close();
+                this.file = null;
+            }
+        } catch (IOException e) {
+            System.out.println("cant close file-LazyLevelSet");
+        }
+    }
+
+    /**
+     * .
+     * indexes the sections of the stream until there are enough of them, or the stream ended.
+     *
+     * @param count - the number of sections that are needed
+     * @return the number of sections that are indexed
+     */
+    private int indexUntil(int count) {
+        try {
+            while (this.sections.size() < count && this.in != null) {
+                if (!this.indexSection()) {
+                    this.in.close();
+                    this.in = null;
+                }
+            }
+        } catch (IOException e) {
+            System.out.println("cant read from files-LazyLevelSet");
+            this.in = null;
+        }
+        return this.sections.size();
+    }
+
+    /**
+     * .
+     * reads the stream until the end of the next section, and keeps its offsets.
+     *
+     * @return true if a section was found, false if the stream ended
+     * @throws IOException if the stream can not be read
+     */
+    private boolean indexSection() throws IOException {
+        while (this.readLine()) {
+            if (this.lineIs(START)) {
+                long start = this.position;
+                ByteArrayOutputStream bytes = this.file == null ? new ByteArrayOutputStream() : null;
+                while (this.readLine()) {
+                    if (bytes != null) {
+                        this.line.writeTo(bytes);
+                        bytes.write('\n');
+                    }
+                    if (this.lineIs(END)) {
+                        break;
+                    }
+                }
+                this.sections.add(new long[]{start, this.position});
+                this.sectionBytes.add(bytes == null ? null : bytes.toByteArray());
+                this.levels.add(null);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * .
+     * reads the next line of the stream (ended by '\n', '\r' or "\r\n", like a BufferedReader) to the line buffer.
+     *
+     * @return true if a line was read, false if the stream ended
+     * @throws IOException if the stream can not be read
+     */
+    private boolean readLine() throws IOException {
+        this.line.reset();
+        boolean any = false;
+        while (true) {
+            if (this.chunkPos == this.chunkLength) {
+                this.chunkLength = this.in.read(this.chunk);
+                this.chunkPos = 0;
+                if (this.chunkLength <= 0) {
+                    this.chunkLength = 0;
+                    return any;
+                }
+            }
+            byte b = this.chunk[this.chunkPos++];
+            this.position++;
+            if (this.skipLineFeed) {
+                this.skipLineFeed = false;
+                if (b == '\n') {
+                    continue;
+                }
+            }
+            if (b == '\n' || b == '\r') {
+                this.skipLineFeed = b == '\r';
+                return true;
+            }
+            this.line.write(b);
+            any = true;
+        }
+    }
+
+    /**
+     * .
+     * checks if the line buffer is the given marker line.
+     *
+     * @param marker - START_LEVEL or END_LEVEL
+     * @return true if the line is the marker
+     */
+    private boolean lineIs(String marker) {
+        if (this.line.size() != marker.length()) {
+            return false;
+        }
+        byte[] bytes = this.line.toByteArray();
+        for (int i = 0; i < bytes.length; ++i) {
+            if (bytes[i] != marker.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * .
+     * parses the level of the section - reads its lines (from the file, or from the kept bytes) and builds the level.
+     *
+     * @param index - the index of the section
+     * @return the level, or null if it can not be parsed
+     */
+    private LevelInformation parse(int index) {
+        byte[] bytes = this.sectionBytes.get(index);
+        try {
+            if (bytes == null) {
+                long[] section = this.sections.get(index);
+                ByteBuffer buffer = ByteBuffer.allocate((int) (section[1] - section[0]));
+                while (buffer.hasRemaining()) {
+                    if (this.file.getChannel().read(buffer, section[0] + buffer.position()) < 0) {
+                        break;
+                    }
+                }
+                bytes = buffer.array();
+            }
+            BufferedReader reader = new BufferedReader(new InputStreamReader(new ByteArrayInputStream(bytes)));
+            ArrayList<String> lines = new ArrayList<String>();
+            String text;
+            while ((text = reader.readLine()) != null) {
+                lines.add(text);
+            }
+            LevelInformation level = new SpecificLevel(lines).getLevel();
+            this.sectionBytes.set(index, null); // the level is kept instead
+            return level;
+        } catch (IOException e) {
+            System.out.println("cant read from files-LazyLevelSet");
+            return null;
+        } catch (NullPointerException e) {
+            System.out.println("cant add level");
+            return null;
+        }
+    }
+}
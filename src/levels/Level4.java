@@ -1,6 +1,7 @@
 package levels;
 
 import backgrounds.BackGround4;
+import backgrounds.BackgroundCache;
 import geometry.Point;
 import geometry.Rectangle;
 import interfaces.LevelInformation;
@@ -80,13 +81,13 @@ public class Level4 implements LevelInformation {
 
     /**
      * function name:getBackground
-     * Function Operation: creates new Background Sprite for the current level and
-     * returns it.
+     * Function Operation: returns the Background Sprite for the current level, drawn
+     * once and shared through the BackgroundCache.
      *
      * @return Sprite - the Background for this level
      */
     public Sprite getBackground() {
-        return new BackGround4();
+        return BackgroundCache.of("BackGround4", new BackGround4());
     }
 
     /**
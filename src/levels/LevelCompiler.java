@@ -0,0 +1,234 @@
+package levels;
+
+import interfaces.LevelInformation;
+import others.Velocity;
+import sprites.Block;
+
+import java.awt.Color;
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class Operation : compiles a level set (a level definitions file and its block definitions) to a level pack,
+ * that LevelPack loads without parsing (see LevelPack for the format). the levels are read once by the
+ * LevelSpecificationReader, and the pack keeps their values as they were computed - the bricks' rectangles,
+ * hit points and types, the ball velocities (dx and dy) and the backgrounds' descriptions.
+ */
+public class LevelCompiler {
+
+    /**
+     * .
+     * compiles the level set in the first argument to the pack in the second argument.
+     *
+     * @param args - path of the level definitions, and path of the pack to write
+     */
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            System.out.println("usage: LevelCompiler <level definitions> <level pack" + LevelPack.EXTENSION + ">");
+            return;
+        }
+        List<SpecificLevel> levels = readLevels(args[0]);
+        if (levels == null) {
+            System.out.println("cant load file-LevelCompiler");
+            return;
+        }
+        int compiled = compile(levels, args[1]);
+        if (compiled >= 0) {
+            System.out.println("compiled " + compiled + " levels to " + args[1]);
+        }
+    }
+
+    /**
+     * .
+     * reads the levels of the level definitions, from the given file or from the class path.
+     *
+     * @param path - path of the level definitions
+     * @return - list of the levels, or null if the file was not found
+     */
+    public static List<SpecificLevel> readLevels(String path) {
+        try {
+            Reader reader;
+            if (new File(path).exists()) {
+                reader = new FileReader(path);
+            } else {
+                InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+                if (is == null) {
+                    return null;
+                }
+                reader = new InputStreamReader(is);
+            }
+            BufferedReader bufferedReader = new BufferedReader(reader);
+            try {
+                return new LevelSpecificationReader().readLines(bufferedReader);
+            } finally {
+                bufferedReader.close();
+            }
+        } catch (IOException e) {
+            System.out.println("cant read from files-LevelCompiler");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * writes the levels to a level pack. a level that can not be built is skipped (like the
+     * LevelSpecificationReader does).
+     *
+     * @param levels   - the levels to compile
+     * @param packPath - path of the pack to write
+     * @return the number of levels in the pack, or -1 if the pack was not written
+     */
+    public static int compile(List<SpecificLevel> levels, String packPath) {
+        try {
+            List<byte[]> compiled = new ArrayList<byte[]>();
+            for (SpecificLevel level : levels) {
+                try {
+                    compiled.add(compileLevel(level));
+                } catch (NullPointerException e) {
+                    System.out.println("cant add level");
+                }
+            }
+            DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(packPath)));
+            try {
+                out.writeInt(LevelPack.MAGIC);
+                out.writeInt(LevelPack.VERSION);
+                out.writeInt(compiled.size());
+                int offset = 12 + 4 * compiled.size();
+                for (byte[] level : compiled) {
+                    out.writeInt(offset);
+                    offset += level.length;
+                }
+                for (byte[] level : compiled) {
+                    out.write(level);
+                }
+            } finally {
+                out.close();
+            }
+            return compiled.size();
+        } catch (IOException e) {
+            System.out.println("cant write level pack-LevelCompiler");
+            return -1;
+        }
+    }
+
+    /**
+     * .
+     * compiles a single level. bricks that share a fillers map and a stroke (blocks of the same definition) are
+     * written as one type.
+     *
+     * @param specificLevel - the level to compile
+     * @return the bytes of the level
+     * @throws IOException if the level can not be written
+     */
+    private static byte[] compileLevel(SpecificLevel specificLevel) throws IOException {
+        LevelInformation level = specificLevel.getLevel();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, level.levelName());
+        out.writeInt(level.paddleSpeed());
+        out.writeInt(level.paddleWidth());
+        out.writeInt(level.numberOfBlocksToRemove());
+        writeString(out, specificLevel.getBackgroundDescription());
+        out.writeInt(level.initialBallVelocities().size());
+        for (Velocity velocity : level.initialBallVelocities()) {
+            out.writeDouble(velocity.getDx());
+            out.writeDouble(velocity.getDy());
+        }
+        List<Block> blocks = level.blocks();
+        List<Map<Integer, BlockFiller>> typeFills = new ArrayList<Map<Integer, BlockFiller>>();
+        List<Color> typeStrokes = new ArrayList<Color>();
+        int[] types = new int[blocks.size()];
+        for (int i = 0; i < blocks.size(); ++i) {
+            types[i] = typeOf(blocks.get(i), typeFills, typeStrokes);
+        }
+        out.writeInt(typeFills.size());
+        for (int t = 0; t < typeFills.size(); ++t) {
+            Color stroke = typeStrokes.get(t);
+            out.writeBoolean(stroke != null);
+            out.writeInt(stroke == null ? 0 : stroke.getRGB());
+            out.writeInt(typeFills.get(t).size());
+            for (Map.Entry<Integer, BlockFiller> fill : typeFills.get(t).entrySet()) {
+                out.writeInt(fill.getKey());
+                BlockFiller filler = fill.getValue();
+                if (filler.getImagePath() != null) {
+                    out.writeByte(LevelPack.FILL_IMAGE);
+                    writeString(out, filler.getImagePath());
+                } else if (filler.getColor() != null) {
+                    out.writeByte(LevelPack.FILL_COLOR);
+                    out.writeInt(filler.getColor().getRGB());
+                } else {
+                    out.writeByte(LevelPack.FILL_NONE);
+                }
+            }
+        }
+        out.writeInt(blocks.size());
+        for (int i = 0; i < blocks.size(); ++i) {
+            Block block = blocks.get(i);
+            out.writeDouble(block.getCollisionRectangle().getUpperLeft().getX());
+            out.writeDouble(block.getCollisionRectangle().getUpperLeft().getY());
+            out.writeDouble(block.getCollisionRectangle().getWidth());
+            out.writeDouble(block.getCollisionRectangle().getHeight());
+            out.writeInt(block.getHitPoints());
+            out.writeInt(types[i]);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    /**
+     * .
+     * returns the type id of the block (its fillers map and stroke), and adds a new type if there is none.
+     * blocks of the same definition share the same fillers map.
+     *
+     * @param block       - the block
+     * @param typeFills   - the fillers map of every type
+     * @param typeStrokes - the stroke of every type
+     * @return the type id
+     */
+    private static int typeOf(Block block, List<Map<Integer, BlockFiller>> typeFills, List<Color> typeStrokes) {
+        Map<Integer, BlockFiller> fills = block.getColorsMap();
+        Color stroke = block.getStroke();
+        for (int t = 0; t < typeFills.size(); ++t) {
+            if (typeFills.get(t) == fills && (stroke == null ? typeStrokes.get(t) == null
+                    : stroke.equals(typeStrokes.get(t)))) {
+                return t;
+            }
+        }
+        typeFills.add(fills);
+        typeStrokes.add(stroke);
+        return typeFills.size() - 1;
+    }
+
+    /**
+     * .
+     * writes a string as its length (or -1 for null) and its UTF-8 bytes.
+     *
+     * @param out - the stream to write to
+     * @param s   - the string (or null)
+     * @throws IOException if the stream can not be written
+     */
+    private static void writeString(DataOutputStream out, String s) throws IOException {
+        if (s == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+}
@@ -0,0 +1,141 @@
+package levels;
+
+import interfaces.LevelInformation;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class Operation : loads a level pack - a level set compiled by the LevelCompiler to a binary file. the file is
+ * memory mapped (or read to memory, if it is a resource inside a jar), and every level is a PackedLevel that
+ * reads its values straight from the mapped bytes, so nothing is parsed when the pack is loaded.
+ * the pack's format: MAGIC, VERSION, the number of levels and the offset of every level, and then the levels.
+ * a level is its name, paddle speed, paddle width, number of blocks to remove, background description and
+ * ball velocities (dx and dy), then its brick types (stroke, and the filler of every hit points) and its
+ * bricks (the rectangle, hit points and type of every brick). strings are written as their length and UTF-8 bytes.
+ */
+public class LevelPack {
+    public static final int MAGIC = 0x41524B4C; // "ARKL"
+    public static final int VERSION = 1;
+    public static final String EXTENSION = ".arkpack";
+    public static final int FILL_COLOR = 0;
+    public static final int FILL_IMAGE = 1;
+    public static final int FILL_NONE = 2;
+
+    /**
+     * .
+     * checks if the path is of a level pack (by its extension).
+     *
+     * @param path - path of a level set
+     * @return true if the path is of a level pack
+     */
+    public static boolean isPack(String path) {
+        return path.endsWith(EXTENSION);
+    }
+
+    /**
+     * .
+     * loads the level pack from the file, or from the class path if there is no such file.
+     *
+     * @param path - path of the level pack
+     * @return - List of LevelInformations, or null if the pack can not be read
+     */
+    public static List<LevelInformation> load(String path) {
+        ByteBuffer buffer = map(path);
+        if (buffer == null) {
+            return null;
+        }
+        if (buffer.limit() < 12 || buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION) {
+            System.out.println("not a level pack of this version-LevelPack");
+            return null;
+        }
+        int count = buffer.getInt(8);
+        List<LevelInformation> levels = new ArrayList<LevelInformation>(count);
+        for (int i = 0; i < count; ++i) {
+            levels.add(new PackedLevel(buffer, buffer.getInt(12 + i * 4)));
+        }
+        return levels;
+    }
+
+    /**
+     * .
+     * maps the file to memory, or reads the resource (that can not be mapped) to a buffer.
+     *
+     * @param path - path of the level pack
+     * @return the bytes of the pack, or null if it was not found
+     */
+    private static ByteBuffer map(String path) {
+        try {
+            if (new File(path).exists()) {
+                RandomAccessFile file = new RandomAccessFile(path, "r");
+                try {
+                    FileChannel channel = file.getChannel();
+                    return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()); // stays mapped
+                } finally {
+                    file.close();
+                }
+            }
+            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+            if (is == null) {
+                System.out.println("level pack not found-LevelPack");
+                return null;
+            }
+            try {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] chunk = new byte[8192];
+                int read;
+                while ((read = is.read(chunk)) != -1) {
+                    bytes.write(chunk, 0, read);
+                }
+                return ByteBuffer.wrap(bytes.toByteArray());
+            } finally {
+                is.close();
+            }
+        } catch (IOException e) {
+            System.out.println("cant read level pack-LevelPack");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * reads a string (its length, or -1 for null, and its UTF-8 bytes) at the given offset.
+     *
+     * @param buffer - the bytes of the pack
+     * @param offset - the string's offset
+     * @return the string, or null
+     */
+    static String readString(ByteBuffer buffer, int offset) {
+        int length = buffer.getInt(offset);
+        if (length < 0) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        for (int i = 0; i < length; ++i) {
+            bytes[i] = buffer.get(offset + 4 + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * .
+     * returns the number of bytes the string takes in the pack.
+     *
+     * @param buffer - the bytes of the pack
+     * @param offset - the string's offset
+     * @return the string's size
+     */
+    static int stringSize(ByteBuffer buffer, int offset) {
+        return 4 + Math.max(0, buffer.getInt(offset));
+    }
+}
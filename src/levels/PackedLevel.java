@@ -0,0 +1,219 @@
+package levels;
+
+import geometry.Point;
+import geometry.Rectangle;
+import interfaces.BrickProvider;
+import interfaces.LevelInformation;
+import interfaces.Sprite;
+import others.Velocity;
+import sprites.Block;
+import sprites.BlockField;
+
+import java.awt.Color;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * .
+ * Author: Eyal Styskin
+ * Class Operation : a level of a level pack. its values are read from the pack's bytes when it is created. its
+ * brick types (fillers and stroke) and background are built the first time they are asked, and then kept.
+ * a game adds the bricks to its BlockField straight from the pack's bytes (see BrickProvider), and a list of
+ * Blocks is built only if blocks() is asked. bricks of the same type share the same fillers map.
+ * the level may be shared by games on more than one thread: the pack is read only with absolute gets, and
+ * what is built lazily is built under the level's lock.
+ */
+public class PackedLevel implements LevelInformation, BrickProvider {
+    private final ByteBuffer buffer;
+    private final String levelName;
+    private final int paddleSpeed;
+    private final int paddleWidth;
+    private final int blocksNum;
+    private final String backGroundDesc;
+    private final List<Velocity> initialVelocities;
+    private final int typesOffset;
+    private Sprite backGround;
+    private List<Map<Integer, BlockFiller>> typeFills;
+    private List<Color> typeStrokes;
+    private int bricksOffset;
+    private List<Block> blocks;
+
+    /**
+     * .
+     * constructor - reads the level at the offset of the pack.
+     *
+     * @param buffer - the bytes of the pack
+     * @param offset - the level's offset
+     */
+    public PackedLevel(ByteBuffer buffer, int offset) {
+        this.buffer = buffer;
+        int pos = offset;
+        this.levelName = LevelPack.readString(buffer, pos);
+        pos += LevelPack.stringSize(buffer, pos);
+        this.paddleSpeed = buffer.getInt(pos);
+        this.paddleWidth = buffer.getInt(pos + 4);
+        this.blocksNum = buffer.getInt(pos + 8);
+        pos += 12;
+        this.backGroundDesc = LevelPack.readString(buffer, pos);
+        pos += LevelPack.stringSize(buffer, pos);
+        int balls = buffer.getInt(pos);
+        pos += 4;
+        List<Velocity> velocities = new ArrayList<Velocity>(balls);
+        for (int i = 0; i < balls; ++i) {
+            velocities.add(new Velocity(buffer.getDouble(pos), buffer.getDouble(pos + 8)));
+            pos += 16;
+        }
+        this.initialVelocities = Collections.unmodifiableList(velocities);
+        this.typesOffset = pos;
+    }
+
+    /**
+     * .
+     * reads the fillers and stroke of every brick type from the pack, if they were not read yet.
+     * must be called while holding the level's lock.
+     */
+    private void readTypes() {
+        if (this.typeFills != null) {
+            return;
+        }
+        int pos = this.typesOffset;
+        int types = this.buffer.getInt(pos);
+        pos += 4;
+        List<Map<Integer, BlockFiller>> fillsOfTypes = new ArrayList<Map<Integer, BlockFiller>>(types);
+        List<Color> strokes = new ArrayList<Color>(types);
+        for (int t = 0; t < types; ++t) {
+            boolean hasStroke = this.buffer.get(pos) != 0;
+            strokes.add(hasStroke ? new Color(this.buffer.getInt(pos + 1), true) : null);
+            int fills = this.buffer.getInt(pos + 5);
+            pos += 9;
+            Map<Integer, BlockFiller> fillers = new TreeMap<Integer, BlockFiller>();
+            for (int f = 0; f < fills; ++f) {
+                int hits = this.buffer.getInt(pos);
+                int kind = this.buffer.get(pos + 4);
+                pos += 5;
+                if (kind == LevelPack.FILL_IMAGE) {
+                    fillers.put(hits, BlockFiller.ofImage(LevelPack.readString(this.buffer, pos)));
+                    pos += LevelPack.stringSize(this.buffer, pos);
+                } else if (kind == LevelPack.FILL_COLOR) {
+                    fillers.put(hits, new BlockFiller(new Color(this.buffer.getInt(pos), true)));
+                    pos += 4;
+                } else {
+                    fillers.put(hits, new BlockFiller((Color) null));
+                }
+            }
+            fillsOfTypes.add(Collections.unmodifiableMap(fillers));
+        }
+        this.typeStrokes = strokes;
+        this.bricksOffset = pos;
+        this.typeFills = fillsOfTypes; // set last - the types are read
+    }
+
+    /**
+     * .
+     * adds the bricks to the field straight from the pack - the types are added to the field once, and every
+     * brick is written to the field's arrays (no Block is created for it).
+     *
+     * @param field - the field of the level's bricks
+     * @return the number of bricks added
+     */
+    @Override
+    public int addBricksTo(BlockField field) {
+        List<Map<Integer, BlockFiller>> fills;
+        List<Color> strokes;
+        int pos;
+        synchronized (this) {
+            this.readTypes();
+            fills = this.typeFills;
+            strokes = this.typeStrokes;
+            pos = this.bricksOffset;
+        }
+        int[] fieldTypes = new int[fills.size()];
+        for (int t = 0; t < fieldTypes.length; ++t) {
+            fieldTypes[t] = field.typeOf(fills.get(t), strokes.get(t));
+        }
+        int count = this.buffer.getInt(pos);
+        pos += 4;
+        for (int i = 0; i < count; ++i) {
+            field.add(this.buffer.getDouble(pos), this.buffer.getDouble(pos + 8), this.buffer.getDouble(pos + 16),
+                    this.buffer.getDouble(pos + 24), this.buffer.getInt(pos + 32),
+                    fieldTypes[this.buffer.getInt(pos + 36)]);
+            pos += 40;
+        }
+        return count;
+    }
+
+    /**
+     * .
+     * builds the bricks from the pack as Blocks. must be called while holding the level's lock.
+     *
+     * @return the bricks of the level
+     */
+    private List<Block> readBlocks() {
+        this.readTypes();
+        int pos = this.bricksOffset;
+        int count = this.buffer.getInt(pos);
+        pos += 4;
+        List<Block> bricks = new ArrayList<Block>(count);
+        for (int i = 0; i < count; ++i) {
+            Block block = new Block(new Rectangle(new Point(this.buffer.getDouble(pos), this.buffer.getDouble(pos + 8)),
+                    this.buffer.getDouble(pos + 16), this.buffer.getDouble(pos + 24)));
+            block.setHitPoints(this.buffer.getInt(pos + 32));
+            int type = this.buffer.getInt(pos + 36);
+            block.setColorsMap(this.typeFills.get(type));
+            block.setStroke(this.typeStrokes.get(type));
+            bricks.add(block);
+            pos += 40;
+        }
+        return bricks;
+    }
+
+    @Override
+    public int numberOfBalls() {
+        return this.initialVelocities.size();
+    }
+
+    @Override
+    public List<Velocity> initialBallVelocities() {
+        return this.initialVelocities;
+    }
+
+    @Override
+    public int paddleSpeed() {
+        return this.paddleSpeed;
+    }
+
+    @Override
+    public int paddleWidth() {
+        return this.paddleWidth;
+    }
+
+    @Override
+    public String levelName() {
+        return this.levelName;
+    }
+
+    @Override
+    public synchronized Sprite getBackground() {
+        if (this.backGround == null && this.backGroundDesc != null) {
+            this.backGround = SpecificLevel.backgroundOf(this.backGroundDesc);
+        }
+        return this.backGround;
+    }
+
+    @Override
+    public synchronized List<Block> blocks() {
+        if (this.blocks == null) {
+            this.blocks = this.readBlocks();
+        }
+        return this.blocks;
+    }
+
+    @Override
+    public int numberOfBlocksToRemove() {
+        return this.blocksNum;
+    }
+}
@@ -4,15 +4,12 @@ import animation.GameLevel;
 import biuoop.DrawSurface;
 import interfaces.LevelInformation;
 import interfaces.Sprite;
+import others.ImageCache;
 import others.Velocity;
 import sprites.Block;
 
-import javax.imageio.ImageIO;
 import java.awt.Color;
 import java.awt.Image;
-import java.io.InputStream;
-import java.io.InputStreamReader;
-import java.io.Reader;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
@@ -30,6 +27,7 @@ public class SpecificLevel {
     private int blocksNum;
     private List<Velocity> initialVelocities;
     private Sprite backGround;
+    private String backGroundDesc;
     private List<Block> blocks;
 
     /**.
@@ -47,6 +45,15 @@ public class SpecificLevel {
         this.initialVelocities = findVelocities(lines, "ball_velocities:");
         this.blocks = findBlocks(lines, "block_definitions:");
         this.backGround = findBackGround(lines, "background:");
+        this.backGroundDesc = findString(lines, "background:");
+    }
+
+    /**.
+     * returns the description of the level's background (the "background:" value)
+     * @return the description, or null if the level has none
+     */
+    public String getBackgroundDescription() {
+        return this.backGroundDesc;
     }
 
     /**.
@@ -108,9 +115,7 @@ public class SpecificLevel {
         List<Block> foundBlocks = new ArrayList<>();
         try {
             String blocksPath = findString(lines, searchVal);
-            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(blocksPath);
-            Reader reader = new InputStreamReader(is);
-            BlocksFromSymbolsFactory factory = BlocksDefinitionReader.fromReader(reader);
+            BlocksFromSymbolsFactory factory = BlockDefinitionsCache.get(blocksPath); // parsed once per file
             int startIndex = findIndex(lines, "START_BLOCKS");
             int endIndex = findIndex(lines, "END_BLOCKS");
 
@@ -169,16 +174,26 @@ public class SpecificLevel {
      * @return - Sprite type background
      */
     public Sprite findBackGround(ArrayList<String> lines, String searchVal) {
+        return backgroundOf(findString(lines, searchVal));
+    }
+
+    /**.
+     * creating the background of a description (an image, an RGB color or a named color)
+     * @param randBackground - the background's description
+     * @return - Sprite type background, or null if the description is not valid
+     */
+    public static Sprite backgroundOf(String randBackground) {
         try {
-            String randBackground = findString(lines, searchVal);
             if (randBackground.contains("image")) {
                 String imagePath = randBackground.substring(6, randBackground.length() - 1);
-                InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(imagePath);
-                Image image = ImageIO.read(is);
+                ImageCache.prefetch(imagePath); // decoded before the level is first drawn
                 Sprite imageSprite = new Sprite() {
                     @Override
                     public void drawOn(DrawSurface d) {
-                        d.drawImage(0, 0, image);
+                        Image image = ImageCache.get(imagePath); // read once, by the ImageCache
+                        if (image != null) {
+                            d.drawImage(0, 0, image);
+                        }
                     }
 
                     @Override
@@ -189,19 +204,16 @@ public class SpecificLevel {
                     public void timePassed(double dt) {
                     }
                 };
-                return imageSprite;
+                return imageSprite; // the decoded image is kept by the ImageCache
             } else if (randBackground.contains("RGB")) {
                 String colorDesc = randBackground.substring(10, randBackground.length() - 2);
                 String[] colorVals = colorDesc.split(",");
-                ArrayList<Integer> colorNumbs = new ArrayList<Integer>();
-                for (int i = 0; i < colorVals.length; ++i) {
-                    colorNumbs.add(Integer.parseInt(colorVals[i]));
-                }
+                Color rgb = new Color(Integer.parseInt(colorVals[0]), Integer.parseInt(colorVals[1]),
+                        Integer.parseInt(colorVals[2])); // created once, not every frame
                 Sprite colorRGB = new Sprite() {
                     @Override
                     public void drawOn(DrawSurface d) {
-                        d.setColor(new Color(colorNumbs.get(0),
-                                colorNumbs.get(1), colorNumbs.get(2)));
+                        d.setColor(rgb);
                         d.fillRectangle(0, 0, 800, 600);
                     }
 
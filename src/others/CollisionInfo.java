@@ -9,6 +9,8 @@ import interfaces.Collidable;
  * Class name:CollisionInfo
  * class operation: the class holds information about a collision between the ball and a collidable type object.
  * it holds two member: Collision Point (type Point), and the object the collision happened with (Collidable type)
+ * and also the time of the collision - the part of the checked trajectory passed before it (from 0 to 1),
+ * and the normal of the face that was hit (pointing out of the collidable object).
  */
 
 
@@ -16,6 +18,9 @@ public class CollisionInfo {
     //members
     private Point collisionPoint;
     private Collidable collisionObject;
+    private double collisionTime;
+    private double normalX;
+    private double normalY;
 
     /**
      * function operation: Constructor, set the collisionPoint and collisionObject members.
@@ -28,6 +33,24 @@ public class CollisionInfo {
         this.collisionObject = collisionObject;
     }
 
+    /**
+     * function operation: Constructor, set the collisionPoint, collisionObject, collisionTime and normal members.
+     *
+     * @param collisionPoint  - Point type (has x,y values) Intersection Point of the ball's line and the rectangle
+     * @param collisionObject - a rectangle, Collidable type that ball's line intersect with.
+     * @param collisionTime   - part of the trajectory passed before the collision (from 0 to 1)
+     * @param normalX         - x value of the hit face's normal
+     * @param normalY         - y value of the hit face's normal
+     */
+    public CollisionInfo(Point collisionPoint, Collidable collisionObject, double collisionTime,
+                         double normalX, double normalY) {
+        this.collisionPoint = collisionPoint;
+        this.collisionObject = collisionObject;
+        this.collisionTime = collisionTime;
+        this.normalX = normalX;
+        this.normalY = normalY;
+    }
+
     /**
      * .
      * function name:collisionPoint
@@ -49,4 +72,37 @@ public class CollisionInfo {
     public Collidable collisionObject() {
         return this.collisionObject;
     }
+
+    /**
+     * .
+     * function name:collisionTime
+     * function operation: return the collision time
+     *
+     * @return - this.collisionTime - part of the trajectory passed before the collision (from 0 to 1)
+     */
+    public double collisionTime() {
+        return this.collisionTime;
+    }
+
+    /**
+     * .
+     * function name:normalX
+     * function operation: return the x value of the hit face's normal
+     *
+     * @return - this.normalX (-1, 0 or 1 for a rectangle's face)
+     */
+    public double normalX() {
+        return this.normalX;
+    }
+
+    /**
+     * .
+     * function name:normalY
+     * function operation: return the y value of the hit face's normal
+     *
+     * @return - this.normalY (-1, 0 or 1 for a rectangle's face)
+     */
+    public double normalY() {
+        return this.normalY;
+    }
 }
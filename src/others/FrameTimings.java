@@ -0,0 +1,172 @@
+package others;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: FrameTimings
+ * class operation: the timings of the frames of an AnimationRunner, a TimingHistogram for every phase of a
+ * frame - drawing the sprites, updating them (with the collision queries), the collision queries alone,
+ * showing the frame on the screen, and the whole frame.
+ * the timings can be written to a file (when a level ends), and then start again.
+ * the times of the phases in the current frame are also summed on their own (for the frame's
+ * Flight Recorder event); they are kept by the thread that runs the frames. a render thread (that draws
+ * frames the other thread's steps made) records with recordHistogram, only to the histograms of its own phases.
+ */
+public class FrameTimings {
+    public static final int DRAW = 0;
+    public static final int UPDATE = 1;
+    public static final int COLLISION = 2;
+    public static final int PRESENT = 3;
+    public static final int FRAME = 4;
+    private static final String[] NAMES = {"draw", "update", "collision", "present", "frame"};
+    private TimingHistogram[] histograms = new TimingHistogram[NAMES.length];
+    private long[] frameNanos = new long[NAMES.length];
+    private String dumpFile;
+
+    /**
+     * .
+     * Function Operation: constructor - creates an empty histogram for every phase.
+     */
+    public FrameTimings() {
+        for (int i = 0; i < this.histograms.length; ++i) {
+            this.histograms[i] = new TimingHistogram();
+        }
+    }
+
+    /**
+     * .
+     * function name: record
+     * Function Operation: records the duration of a phase of one frame.
+     *
+     * @param phase - the phase (DRAW, UPDATE, COLLISION, PRESENT or FRAME)
+     * @param nanos - the duration, in nanoseconds
+     */
+    public void record(int phase, long nanos) {
+        this.histograms[phase].record(nanos);
+        this.frameNanos[phase] += nanos;
+    }
+
+    /**
+     * .
+     * function name: recordHistogram
+     * Function Operation: records the duration of a phase of one frame in the phase's histogram only (not in
+     * the sums of the current frame, that belong to the thread that runs the frames).
+     *
+     * @param phase - the phase (DRAW, UPDATE, COLLISION, PRESENT or FRAME)
+     * @param nanos - the duration, in nanoseconds
+     */
+    public void recordHistogram(int phase, long nanos) {
+        this.histograms[phase].record(nanos);
+    }
+
+    /**
+     * .
+     * function name: startFrame
+     * Function Operation: starts summing the times of the phases of a new frame.
+     */
+    public void startFrame() {
+        for (int i = 0; i < this.frameNanos.length; ++i) {
+            this.frameNanos[i] = 0;
+        }
+    }
+
+    /**
+     * .
+     * function name: getFrameNanos
+     * Function Operation: getter - the time of the phase in the current frame (since startFrame).
+     *
+     * @param phase - the phase (DRAW, UPDATE, COLLISION, PRESENT or FRAME)
+     * @return the time, in nanoseconds
+     */
+    public long getFrameNanos(int phase) {
+        return this.frameNanos[phase];
+    }
+
+    /**
+     * .
+     * function name: getHistogram
+     * Function Operation: getter - the histogram of the phase.
+     *
+     * @param phase - the phase (DRAW, UPDATE, COLLISION, PRESENT or FRAME)
+     * @return the histogram
+     */
+    public TimingHistogram getHistogram(int phase) {
+        return this.histograms[phase];
+    }
+
+    /**
+     * .
+     * function name: size
+     * Function Operation: returns the number of phases.
+     *
+     * @return number of phases
+     */
+    public int size() {
+        return this.histograms.length;
+    }
+
+    /**
+     * .
+     * function name: describe
+     * Function Operation: returns one line about the phase - its name, its p50, p99 and max (in ms)
+     * and its number of frames.
+     *
+     * @param phase - the phase (DRAW, UPDATE, COLLISION, PRESENT or FRAME)
+     * @return the line
+     */
+    public String describe(int phase) {
+        TimingHistogram h = this.histograms[phase];
+        return String.format("%-9s p50 %6.2f ms  p99 %6.2f ms  max %6.2f ms  (%d)", NAMES[phase],
+                h.getPercentile(50) / 1e6, h.getPercentile(99) / 1e6, h.getMax() / 1e6, h.getCount());
+    }
+
+    /**
+     * .
+     * function name: setDumpFile
+     * Function Operation: sets the file the timings are added to by dump.
+     *
+     * @param path - the file's path, or null to not write the timings
+     */
+    public void setDumpFile(String path) {
+        this.dumpFile = path;
+    }
+
+    /**
+     * .
+     * function name: dump
+     * Function Operation: if a dump file was set, adds the timings to its end under the given title.
+     * then all the histograms start again (so every level's timings are written on their own).
+     *
+     * @param title - the title of the timings (the level's name)
+     */
+    public void dump(String title) {
+        if (this.dumpFile != null) {
+            try {
+                PrintWriter out = new PrintWriter(new FileWriter(this.dumpFile, true));
+                out.println(title);
+                for (int i = 0; i < this.histograms.length; ++i) {
+                    out.println("  " + this.describe(i));
+                }
+                out.close();
+            } catch (IOException e) {
+                System.out.println("Failed saving timings-FrameTimings");
+            }
+        }
+        this.reset();
+    }
+
+    /**
+     * .
+     * function name: reset
+     * Function Operation: forgets the timings of all the phases.
+     */
+    public void reset() {
+        for (int i = 0; i < this.histograms.length; ++i) {
+            this.histograms[i].reset();
+        }
+    }
+}
@@ -1,9 +1,12 @@
 package others;
 
 import java.util.ArrayList;
+import events.CollisionQueryEvent;
 import geometry.Point;
 import geometry.Line;
+import geometry.SegmentHit;
 import interfaces.Collidable;
+import sprites.BlockField;
 
 /**
  * .
@@ -12,10 +15,19 @@ import interfaces.Collidable;
  * class operation: the class holds an Array List of  Collidable (interface) type.
  * it allows to add new collidable type object, and also can return the information about the closest Collision
  * on the Ball's trajectory line with other collidable object.
+ * the level's bricks are kept in a BlockField, that is queried over its arrays (and its UniformGrid, once the
+ * level is loaded). the other collidables (the borders) are checked one by one, and the moving collidables
+ * (the paddle) are kept aside and always checked.
+ * every query is a CollisionQueryEvent of the Flight Recorder.
  */
 
 public class GameEnvironment {
     private ArrayList<Collidable> collidables = new ArrayList<Collidable>();
+    private ArrayList<Collidable> movingCollidables = new ArrayList<Collidable>();
+    private BlockField blockField;
+    private SegmentHit candidateHit = new SegmentHit();
+    private SegmentHit closestHit = new SegmentHit();
+    private long collisionNanos;
 
     /**
      * function name: addCollidable
@@ -27,6 +39,45 @@ public class GameEnvironment {
         this.collidables.add(c);
     }
 
+    /**
+     * function name: addMovingCollidable
+     * Function Operation: adds a collidable that changes its rectangle during the game (the paddle).
+     * it is checked on every query.
+     * @param c - new collidable type object
+     */
+    public void addMovingCollidable(Collidable c) {
+        this.movingCollidables.add(c);
+    }
+
+    /**
+     * function name: setBlockField
+     * Function Operation: sets the BlockField that keeps the level's bricks.
+     * @param field - the level's BlockField
+     */
+    public void setBlockField(BlockField field) {
+        this.blockField = field;
+    }
+
+    /**
+     * function name: getBlockField
+     * Function Operation: getter for the BlockField that keeps the level's bricks.
+     * @return the level's BlockField (or null)
+     */
+    public BlockField getBlockField() {
+        return this.blockField;
+    }
+
+    /**
+     * function name: buildIndex
+     * Function Operation: builds the grid of the bricks added so far. called once the level is loaded.
+     * later additions and removals update the grid.
+     */
+    public void buildIndex() {
+        if (this.blockField != null) {
+            this.blockField.buildIndex();
+        }
+    }
+
     /**.
      *  * author: Eyal Styskin
      * function name: removeCollidables
@@ -35,6 +86,19 @@ public class GameEnvironment {
      */
     public void removeCollidables(Collidable c) {
         this.collidables.remove(c);
+        this.movingCollidables.remove(c);
+    }
+
+    /**
+     * function name: takeCollisionNanos
+     * Function Operation: returns the time spent in collision queries since the last call, and starts
+     * counting again from 0.
+     * @return the time of the queries, in nanoseconds
+     */
+    public long takeCollisionNanos() {
+        long nanos = this.collisionNanos;
+        this.collisionNanos = 0;
+        return nanos;
     }
 
     /**
@@ -46,29 +110,113 @@ public class GameEnvironment {
      * @return CollisionInfo type object with information about the collision Point and the object (or NULL)
      */
     public CollisionInfo getClosestCollision(Line trajectory) {
-        ArrayList<Collidable> newCollidables = new ArrayList<Collidable>(this.collidables); // update current list
-        ArrayList<CollisionInfo> infos = new ArrayList<>(); // create new Array List of "Collision Info" type
-        for (int i = 0; i < newCollidables.size(); ++i) { //check intersection of Line with all collidable objects
-            Point col = trajectory.closestIntersectionToStartOfLine(newCollidables.get(i).getCollisionRectangle());
-            if (col != null) { //if intersection occurred create new CollisionInfo object
-                CollisionInfo info = new CollisionInfo(col, newCollidables.get(i));
-                infos.add(info); // add the new object to the ArrayList
+        double x0 = trajectory.start().getX();
+        double y0 = trajectory.start().getY();
+        return this.getClosestCollision(x0, y0, trajectory.end().getX() - x0, trajectory.end().getY() - y0);
+    }
+
+    /**
+     * function name: getClosestCollision
+     * Function Operation: checks the trajectory (x0,y0) + t * (dx,dy) against the bricks, the other
+     * collidables and the moving collidables, with the rectangles' slab test. the tests reuse this
+     * environment's SegmentHit holders, so nothing is created unless a collision was found.
+     * @param x0 - x value of the trajectory's start
+     * @param y0 - y value of the trajectory's start
+     * @param dx - progress of the trajectory on X-axis
+     * @param dy - progress of the trajectory on Y-axis
+     * @return CollisionInfo type object with information about the collision Point and the object (or NULL)
+     */
+    public CollisionInfo getClosestCollision(double x0, double y0, double dx, double dy) {
+        return this.getClosestCollision(x0, y0, dx, dy, 0);
+    }
+
+    /**
+     * function name: getClosestCollision
+     * Function Operation: swept-circle version - finds the first collidable that a circle with the given
+     * radius touches while its center moves along the trajectory (x0,y0) + t * (dx,dy).
+     * the collision point is the touching point on the collidable's face, and the collision time is the
+     * part of the trajectory (from 0 to 1) passed until the touch.
+     * @param x0 - x value of the trajectory's start
+     * @param y0 - y value of the trajectory's start
+     * @param dx - progress of the trajectory on X-axis
+     * @param dy - progress of the trajectory on Y-axis
+     * @param radius - radius of the moving circle
+     * @return CollisionInfo type object with information about the collision Point and the object (or NULL)
+     */
+    public CollisionInfo getClosestCollision(double x0, double y0, double dx, double dy, double radius) {
+        CollisionQueryEvent event = new CollisionQueryEvent();
+        event.begin();
+        long tests = this.blockField == null ? 0 : this.blockField.getSegmentTests();
+        long start = System.nanoTime();
+        CollisionInfo info = this.closestCollision(x0, y0, dx, dy, radius);
+        this.collisionNanos += System.nanoTime() - start;
+        if (event.shouldCommit()) {
+            if (this.blockField != null) {
+                tests = this.blockField.getSegmentTests() - tests;
             }
+            event.set((int) tests + this.collidables.size() + this.movingCollidables.size(), info != null);
+            event.commit();
         }
-        if (infos.size() == 0) { //if no collisions occurred return null
+        return info;
+    }
+
+    /**
+     * function name: closestCollision
+     * Function Operation: the query of getClosestCollision (without counting its time).
+     * @param x0 - x value of the trajectory's start
+     * @param y0 - y value of the trajectory's start
+     * @param dx - progress of the trajectory on X-axis
+     * @param dy - progress of the trajectory on Y-axis
+     * @param radius - radius of the moving circle
+     * @return CollisionInfo type object with information about the collision Point and the object (or NULL)
+     */
+    private CollisionInfo closestCollision(double x0, double y0, double dx, double dy, double radius) {
+        Collidable closest = null;
+        int brick = -1;
+        if (this.blockField != null) {
+            brick = this.blockField.closestBrick(x0, y0, dx, dy, radius, this.candidateHit, this.closestHit);
+            if (brick != -1) {
+                closest = this.blockField.getHandle(brick);
+            }
+        }
+        closest = this.closestOf(this.collidables, x0, y0, dx, dy, radius, closest);
+        closest = this.closestOf(this.movingCollidables, x0, y0, dx, dy, radius, closest);
+        if (closest == null) {
             return null;
-        } else { // if collision was found - we search for the closest one to the Line's starting Point.
-            CollisionInfo info = infos.get(0);
-            Point closestP = info.collisionPoint();
-            double distance = closestP.distance(trajectory.start());
-            for (int j = 1; j < infos.size(); ++j) {
-                if (infos.get(j).collisionPoint().distance(trajectory.start()) < distance) {
-                    info = infos.get(j);
-                    closestP = infos.get(j).collisionPoint();
-                    distance = closestP.distance(trajectory.start());
-                }
+        }
+        Point collisionPoint;
+        if (brick != -1 && closest == this.blockField.getHandle(brick)) {
+            collisionPoint = this.blockField.entryPoint(brick, x0, y0, dx, dy, this.closestHit);
+        } else {
+            collisionPoint = closest.getCollisionRectangle().entryPoint(x0, y0, dx, dy, this.closestHit);
+        }
+        return new CollisionInfo(collisionPoint, closest, this.closestHit.getTime(),
+                this.closestHit.getNormalX(), this.closestHit.getNormalY());
+    }
+
+    /**
+     * function name: closestOf
+     * Function Operation: checks the trajectory against every collidable in the given list. if one of them is
+     * hit before the closest collidable found so far, it becomes the closest and its hit is kept in closestHit.
+     * @param candidates - the collidables to check
+     * @param x0 - x value of the trajectory's start
+     * @param y0 - y value of the trajectory's start
+     * @param dx - progress of the trajectory on X-axis
+     * @param dy - progress of the trajectory on Y-axis
+     * @param radius - radius of the moving circle
+     * @param closest - the closest collidable found so far (or null)
+     * @return the closest collidable after checking the list (or null)
+     */
+    private Collidable closestOf(ArrayList<Collidable> candidates, double x0, double y0, double dx, double dy,
+                                 double radius, Collidable closest) {
+        for (int i = 0; i < candidates.size(); ++i) {
+            Collidable c = candidates.get(i);
+            if (c.getCollisionRectangle().segmentEntry(x0, y0, dx, dy, radius, this.candidateHit)
+                    && (closest == null || this.candidateHit.getTime() < this.closestHit.getTime())) {
+                closest = c;
+                this.closestHit.set(this.candidateHit.getTime(), this.candidateHit.getFace());
             }
-            return info; // return closest intersection's info
         }
+        return closest;
     }
-}
\ No newline at end of file
+}
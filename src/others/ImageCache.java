@@ -0,0 +1,241 @@
+package others;
+
+import javax.imageio.ImageIO;
+import java.awt.Graphics2D;
+import java.awt.GraphicsConfiguration;
+import java.awt.GraphicsEnvironment;
+import java.awt.Transparency;
+import java.awt.image.BufferedImage;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: ImageCache
+ * class operation: a single cache of the game's images, by their resource path. an image is read (decoded) the
+ * first time it is asked for - when it is first drawn, or earlier by prefetch, on a background thread - and
+ * converted to the screen's format, so drawing it does not convert it again every frame.
+ * an image that is being read is kept as a task until it is in the cache, so an image that is asked for while
+ * it is read (or waits to be prefetched) is read only once: the caller waits for the reading, or reads it
+ * itself if the prefetch did not start yet. a path that can not be read is remembered, so it is tried (and
+ * reported) only once.
+ * the cache keeps up to a number of bytes of images; when it is full, the image that was not used for the
+ * longest time is dropped (and read again if it is needed later).
+ */
+public class ImageCache {
+    private static final long DEFAULT_CAPACITY = 32L * 1024 * 1024;
+    private static final Map<String, BufferedImage> IMAGES = new LinkedHashMap<String, BufferedImage>(16, 0.75f,
+            true); // access order - the least recently used image is first
+    private static final ExecutorService PREFETCHER = Executors.newSingleThreadExecutor(new ThreadFactory() {
+        @Override
+        public Thread newThread(Runnable r) {
+            Thread thread = new Thread(r, "image-prefetch");
+            thread.setDaemon(true);
+            return thread;
+        }
+    });
+    private static final Map<String, FutureTask<BufferedImage>> LOADING =
+            new ConcurrentHashMap<String, FutureTask<BufferedImage>>();
+    private static final Set<String> FAILED = ConcurrentHashMap.newKeySet(); // paths that can not be read
+    private static long capacity = DEFAULT_CAPACITY;
+    private static long size;
+
+    /**
+     * .
+     * function name: get
+     * Function Operation: returns the image of the resource path, and reads it if it is not in the cache.
+     *
+     * @param path - the resource path of the image
+     * @return the image, or null if it can not be read
+     */
+    public static BufferedImage get(String path) {
+        synchronized (IMAGES) {
+            BufferedImage image = IMAGES.get(path);
+            if (image != null) {
+                return image;
+            }
+        }
+        if (FAILED.contains(path)) {
+            return null;
+        }
+        FutureTask<BufferedImage> task = loading(path);
+        task.run(); // reads the image here, unless it is already read or being read by another thread
+        try {
+            return task.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            System.out.println("can't load image-ImageCache");
+            return null;
+        }
+    }
+
+    /**
+     * .
+     * function name: prefetch
+     * Function Operation: reads the image of the resource path on a background thread, so it is already in
+     * the cache when it is first drawn.
+     *
+     * @param path - the resource path of the image
+     */
+    public static void prefetch(String path) {
+        synchronized (IMAGES) {
+            if (IMAGES.containsKey(path)) {
+                return;
+            }
+        }
+        if (FAILED.contains(path)) {
+            return;
+        }
+        PREFETCHER.execute(loading(path)); // does nothing if the image was read meanwhile
+    }
+
+    /**
+     * .
+     * function name: loading
+     * Function Operation: returns the task that reads the image of the resource path - the task of the image
+     * if it is already being read, or a new task. the task keeps the image in the cache when it is read.
+     *
+     * @param path - the resource path of the image
+     * @return the reading task
+     */
+    private static FutureTask<BufferedImage> loading(String path) {
+        FutureTask<BufferedImage> task = LOADING.get(path);
+        if (task != null) {
+            return task;
+        }
+        task = new FutureTask<BufferedImage>(new Callable<BufferedImage>() {
+            @Override
+            public BufferedImage call() {
+                try {
+                    return keep(path, read(path)); // not locked, so other images can be used while reading
+                } finally {
+                    LOADING.remove(path);
+                }
+            }
+        });
+        FutureTask<BufferedImage> other = LOADING.putIfAbsent(path, task);
+        return other != null ? other : task;
+    }
+
+    /**
+     * .
+     * function name: keep
+     * Function Operation: puts the image that was read in the cache, and drops images if needed. a path that
+     * can not be read is remembered as failed.
+     *
+     * @param path  - the resource path of the image
+     * @param image - the image, or null if it can not be read
+     * @return the image in the cache, or null
+     */
+    private static BufferedImage keep(String path, BufferedImage image) {
+        if (image == null) {
+            FAILED.add(path); // not read again
+            return null;
+        }
+        synchronized (IMAGES) {
+            BufferedImage other = IMAGES.get(path);
+            if (other != null) { // read by another task meanwhile
+                return other;
+            }
+            IMAGES.put(path, image);
+            size += bytesOf(image);
+            evict();
+        }
+        return image;
+    }
+
+    /**
+     * .
+     * function name: setCapacity
+     * Function Operation: sets the number of bytes of images the cache keeps, and drops images if needed.
+     *
+     * @param bytes - the capacity in bytes
+     */
+    public static void setCapacity(long bytes) {
+        synchronized (IMAGES) {
+            capacity = bytes;
+            evict();
+        }
+    }
+
+    /**
+     * .
+     * function name: evict
+     * Function Operation: drops the least recently used images until the cache is not over its capacity.
+     * the newest image is always kept. must be called while holding the cache's lock.
+     */
+    private static void evict() {
+        Iterator<Map.Entry<String, BufferedImage>> it = IMAGES.entrySet().iterator();
+        while (size > capacity && IMAGES.size() > 1 && it.hasNext()) {
+            size -= bytesOf(it.next().getValue());
+            it.remove();
+        }
+    }
+
+    /**
+     * .
+     * function name: read
+     * Function Operation: reads the image from the class path and converts it to the screen's format
+     * (or to a plain int RGB format when there is no screen).
+     *
+     * @param path - the resource path of the image
+     * @return the image, or null if it can not be read
+     */
+    private static BufferedImage read(String path) {
+        BufferedImage image;
+        try {
+            InputStream is = ClassLoader.getSystemClassLoader().getResourceAsStream(path);
+            if (is == null) {
+                System.out.println("can't find image-ImageCache");
+                return null;
+            }
+            image = ImageIO.read(is);
+            is.close();
+        } catch (Exception e) {
+            System.out.println("can't load image-ImageCache");
+            return null;
+        }
+        if (image == null) {
+            return null;
+        }
+        int transparency = image.getColorModel().getTransparency();
+        BufferedImage converted;
+        if (GraphicsEnvironment.isHeadless()) {
+            converted = new BufferedImage(image.getWidth(), image.getHeight(),
+                    transparency == Transparency.OPAQUE ? BufferedImage.TYPE_INT_RGB : BufferedImage.TYPE_INT_ARGB);
+        } else {
+            GraphicsConfiguration config = GraphicsEnvironment.getLocalGraphicsEnvironment()
+                    .getDefaultScreenDevice().getDefaultConfiguration();
+            converted = config.createCompatibleImage(image.getWidth(), image.getHeight(), transparency);
+        }
+        Graphics2D g = converted.createGraphics();
+        g.drawImage(image, 0, 0, null);
+        g.dispose();
+        return converted;
+    }
+
+    /**
+     * .
+     * function name: bytesOf
+     * Function Operation: returns the (approximate) memory size of the image.
+     *
+     * @param image - the image
+     * @return number of bytes
+     */
+    private static long bytesOf(BufferedImage image) {
+        return (long) image.getWidth() * image.getHeight() * 4;
+    }
+}
@@ -1,5 +1,7 @@
 package others;
 import biuoop.DrawSurface;
+import interfaces.InterpolatedSprite;
+import interfaces.SnapshotSprite;
 import interfaces.Sprite;
 
 import java.util.ArrayList;
@@ -48,6 +50,25 @@ public class SpriteCollection {
         }
     }
 
+    /**
+     * function name: snapshot
+     * Function Operation: returns the snapshots of all the sprites, in the order they are drawn. a sprite that
+     * is not a SnapshotSprite never changes, so it is its own snapshot.
+     * @return list of the snapshots
+     */
+    public ArrayList<Sprite> snapshot() {
+        ArrayList<Sprite> snapshots = new ArrayList<Sprite>(this.sprites.size() + 1);
+        for (int i = 0; i < this.sprites.size(); ++i) {
+            Sprite s = this.sprites.get(i);
+            if (s instanceof SnapshotSprite) {
+                snapshots.add(((SnapshotSprite) s).snapshot());
+            } else {
+                snapshots.add(s);
+            }
+        }
+        return snapshots;
+    }
+
     /**
      * function name: drawAllOn
      * Function Operation: activate the "drawOn" method for every sprite in the Sprites ArrayList.
@@ -59,4 +80,22 @@ public class SpriteCollection {
             sprites.get(i).drawOn(d);
         }
     }
+
+    /**
+     * function name: drawAllOn
+     * Function Operation: draws every sprite on the given surface. the moving sprites (InterpolatedSprite) are
+     * drawn at the given part of the way of their last step.
+     * @param d - the surface to draw on
+     * @param alpha - the part of the way of the last step, from 0 to 1
+     */
+    public void drawAllOn(DrawSurface d, double alpha) {
+        for (int i = 0; i < sprites.size(); ++i) {
+            Sprite s = sprites.get(i);
+            if (s instanceof InterpolatedSprite) {
+                ((InterpolatedSprite) s).drawOn(d, alpha);
+            } else {
+                s.drawOn(d);
+            }
+        }
+    }
 }
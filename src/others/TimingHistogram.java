@@ -0,0 +1,140 @@
+package others;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: TimingHistogram
+ * class operation: a histogram of durations (in nanoseconds), of a fixed size. the durations are counted in
+ * buckets - one bucket for each of the smallest 8 values, and then 8 buckets for every power of 2, so a
+ * bucket is at most 1/8 wider than its values. recording a duration only increments counters (atomically,
+ * without locks), so it can be recorded by one thread while another reads the percentiles.
+ * durations longer than the last bucket are counted in the last bucket.
+ */
+public class TimingHistogram {
+    private static final int SUB_BUCKETS = 8;
+    private static final int SUB_BITS = 3;
+    private static final int MAX_EXPONENT = 40; // about 18 minutes
+    private static final int BUCKETS = (MAX_EXPONENT - 1) * SUB_BUCKETS;
+    private AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+    private AtomicLong total = new AtomicLong();
+    private AtomicLong max = new AtomicLong();
+
+    /**
+     * .
+     * function name: record
+     * Function Operation: counts the duration.
+     *
+     * @param nanos - the duration, in nanoseconds
+     */
+    public void record(long nanos) {
+        if (nanos < 0) {
+            nanos = 0;
+        }
+        this.counts.incrementAndGet(bucketOf(nanos));
+        this.total.incrementAndGet();
+        long currentMax = this.max.get();
+        while (nanos > currentMax && !this.max.compareAndSet(currentMax, nanos)) {
+            currentMax = this.max.get();
+        }
+    }
+
+    /**
+     * .
+     * function name: getCount
+     * Function Operation: getter - the number of durations recorded.
+     *
+     * @return number of durations
+     */
+    public long getCount() {
+        return this.total.get();
+    }
+
+    /**
+     * .
+     * function name: getMax
+     * Function Operation: getter - the longest duration recorded.
+     *
+     * @return the longest duration, in nanoseconds
+     */
+    public long getMax() {
+        return this.max.get();
+    }
+
+    /**
+     * .
+     * function name: getPercentile
+     * Function Operation: returns the duration that the given percent of the durations are not longer than
+     * (up to the width of its bucket - the top of the bucket is returned, but not above the longest duration).
+     *
+     * @param percent - the percent, from 0 to 100
+     * @return the duration, in nanoseconds (0 if nothing was recorded)
+     */
+    public long getPercentile(double percent) {
+        long count = this.total.get();
+        if (count == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(count * percent / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; ++i) {
+            seen += this.counts.get(i);
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), this.max.get());
+            }
+        }
+        return this.max.get();
+    }
+
+    /**
+     * .
+     * function name: reset
+     * Function Operation: forgets all the recorded durations.
+     */
+    public void reset() {
+        for (int i = 0; i < BUCKETS; ++i) {
+            this.counts.set(i, 0);
+        }
+        this.total.set(0);
+        this.max.set(0);
+    }
+
+    /**
+     * .
+     * function name: bucketOf
+     * Function Operation: returns the bucket of the duration - its power of 2 and its next 3 bits.
+     *
+     * @param nanos - the duration (not negative)
+     * @return index of the bucket
+     */
+    private static int bucketOf(long nanos) {
+        if (nanos < SUB_BUCKETS) {
+            return (int) nanos;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(nanos);
+        if (exponent > MAX_EXPONENT) {
+            return BUCKETS - 1;
+        }
+        int mantissa = (int) (nanos >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BITS + 1) * SUB_BUCKETS + mantissa;
+    }
+
+    /**
+     * .
+     * function name: upperBoundOf
+     * Function Operation: returns the longest duration that is counted in the bucket.
+     *
+     * @param bucket - index of the bucket
+     * @return the duration, in nanoseconds
+     */
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BITS - 1;
+        long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << (exponent - SUB_BITS);
+        return lower + (1L << (exponent - SUB_BITS)) - 1;
+    }
+}
@@ -0,0 +1,250 @@
+package others;
+
+import geometry.SegmentHit;
+import sprites.BlockField;
+
+import java.util.Arrays;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: UniformGrid
+ * class operation: a broad-phase index for the bricks of a BlockField (bricks do not move).
+ * the area that the bricks cover is divided to square cells, and every cell keeps the indexes of the
+ * bricks its area overlaps. a trajectory query walks only the cells the line passes through (in order,
+ * from its start to its end) and stops at the first cell that holds a hit.
+ * bricks are kept also in the cells within a margin around their rectangle, so a circle (the ball) whose
+ * radius is not bigger than the margin is found by walking the cells of its center's path.
+ */
+public class UniformGrid {
+    private static final int INITIAL_CELL_CAPACITY = 4;
+    private double originX;
+    private double originY;
+    private double maxX;
+    private double maxY;
+    private double cellSize;
+    private double margin;
+    private int cols;
+    private int rows;
+    private int[][] cells;
+    private int[] cellCounts;
+
+    /**
+     * .
+     * Function Operation: constructor - creates an empty grid that covers the given bounds.
+     *
+     * @param minX     - left edge of the covered area
+     * @param minY     - top edge of the covered area
+     * @param maxX     - right edge of the covered area
+     * @param maxY     - bottom edge of the covered area
+     * @param cellSize - the width and height of a single cell
+     * @param margin   - the distance around every brick that is kept in its cells
+     */
+    public UniformGrid(double minX, double minY, double maxX, double maxY, double cellSize, double margin) {
+        this.originX = minX - margin;
+        this.originY = minY - margin;
+        this.cellSize = cellSize;
+        this.margin = margin;
+        this.cols = Math.max(1, (int) Math.ceil((maxX + margin - this.originX) / cellSize));
+        this.rows = Math.max(1, (int) Math.ceil((maxY + margin - this.originY) / cellSize));
+        this.maxX = this.originX + this.cols * cellSize;
+        this.maxY = this.originY + this.rows * cellSize;
+        this.cells = new int[this.cols * this.rows][];
+        this.cellCounts = new int[this.cols * this.rows];
+    }
+
+    /**
+     * .
+     * function name: add
+     * Function Operation: inserts the brick's index to every cell its rectangle (with the margin) overlaps.
+     * parts of the rectangle outside the grid are kept in the border cells.
+     *
+     * @param id     - the brick's index in its BlockField
+     * @param x      - x value of the brick's upper left corner
+     * @param y      - y value of the brick's upper left corner
+     * @param width  - the brick's width
+     * @param height - the brick's height
+     */
+    public void add(int id, double x, double y, double width, double height) {
+        int col1 = this.colOf(x - this.margin);
+        int col2 = this.colOf(x + width + this.margin);
+        int row1 = this.rowOf(y - this.margin);
+        int row2 = this.rowOf(y + height + this.margin);
+        for (int row = row1; row <= row2; ++row) {
+            for (int col = col1; col <= col2; ++col) {
+                int cell = row * this.cols + col;
+                if (this.cells[cell] == null) {
+                    this.cells[cell] = new int[INITIAL_CELL_CAPACITY];
+                } else if (this.cellCounts[cell] == this.cells[cell].length) {
+                    this.cells[cell] = Arrays.copyOf(this.cells[cell], this.cellCounts[cell] * 2);
+                }
+                this.cells[cell][this.cellCounts[cell]++] = id;
+            }
+        }
+    }
+
+    /**
+     * .
+     * function name: remove
+     * Function Operation: removes the brick's index from every cell it was inserted to.
+     * the later indexes of the cell move back one place, so a cell always keeps its bricks in the order of their
+     * indexes, whatever order they were removed in (a level restored from a keyframe breaks ties as the played
+     * level did).
+     *
+     * @param id     - the brick's index in its BlockField
+     * @param x      - x value of the brick's upper left corner
+     * @param y      - y value of the brick's upper left corner
+     * @param width  - the brick's width
+     * @param height - the brick's height
+     */
+    public void remove(int id, double x, double y, double width, double height) {
+        int col1 = this.colOf(x - this.margin);
+        int col2 = this.colOf(x + width + this.margin);
+        int row1 = this.rowOf(y - this.margin);
+        int row2 = this.rowOf(y + height + this.margin);
+        for (int row = row1; row <= row2; ++row) {
+            for (int col = col1; col <= col2; ++col) {
+                int cell = row * this.cols + col;
+                for (int i = 0; i < this.cellCounts[cell]; ++i) {
+                    if (this.cells[cell][i] == id) {
+                        System.arraycopy(this.cells[cell], i + 1, this.cells[cell], i, this.cellCounts[cell] - i - 1);
+                        this.cellCounts[cell]--;
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * .
+     * function name: closestBrick
+     * Function Operation: walks the cells that the trajectory (x0,y0) + t * (dx,dy) crosses, from its start
+     * to its end (DDA traversal). the bricks of every visited cell are checked with the rectangle's slab test,
+     * and the walk stops as soon as the closest hit found so far lies inside the cells already visited,
+     * because any brick in a later cell can only be hit further along the line.
+     *
+     * @param x0        - x value of the trajectory's start
+     * @param y0        - y value of the trajectory's start
+     * @param dx        - progress of the trajectory on X-axis
+     * @param dy        - progress of the trajectory on Y-axis
+     * @param radius    - radius of the circle moving along the trajectory (not bigger than the margin)
+     * @param field     - the BlockField that holds the indexed bricks
+     * @param candidate - scratch holder for the test of a single brick
+     * @param closest   - holder that gets the entry time and face of the closest hit
+     * @return the index of the closest brick hit, or -1 if there is none
+     */
+    public int closestBrick(double x0, double y0, double dx, double dy, double radius, BlockField field,
+                            SegmentHit candidate, SegmentHit closest) {
+        // clip the trajectory to the grid bounds (slab test)
+        double tEnter = 0;
+        double tExit = 1;
+        if (dx == 0) {
+            if (x0 < this.originX || x0 > this.maxX) {
+                return -1;
+            }
+        } else {
+            double t1 = (this.originX - x0) / dx;
+            double t2 = (this.maxX - x0) / dx;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (dy == 0) {
+            if (y0 < this.originY || y0 > this.maxY) {
+                return -1;
+            }
+        } else {
+            double t1 = (this.originY - y0) / dy;
+            double t2 = (this.maxY - y0) / dy;
+            tEnter = Math.max(tEnter, Math.min(t1, t2));
+            tExit = Math.min(tExit, Math.max(t1, t2));
+        }
+        if (tEnter > tExit) {
+            return -1;
+        }
+
+        int col = this.colOf(x0 + dx * tEnter);
+        int row = this.rowOf(y0 + dy * tEnter);
+        int stepX = dx > 0 ? 1 : -1;
+        int stepY = dy > 0 ? 1 : -1;
+        double tDeltaX = dx == 0 ? Double.POSITIVE_INFINITY : this.cellSize / Math.abs(dx);
+        double tDeltaY = dy == 0 ? Double.POSITIVE_INFINITY : this.cellSize / Math.abs(dy);
+        double tMaxX = Double.POSITIVE_INFINITY;
+        if (dx != 0) {
+            double edge = this.originX + (dx > 0 ? col + 1 : col) * this.cellSize;
+            tMaxX = (edge - x0) / dx;
+        }
+        double tMaxY = Double.POSITIVE_INFINITY;
+        if (dy != 0) {
+            double edge = this.originY + (dy > 0 ? row + 1 : row) * this.cellSize;
+            tMaxY = (edge - y0) / dy;
+        }
+
+        int closestId = -1;
+        while (true) {
+            int cell = row * this.cols + col;
+            for (int i = 0; i < this.cellCounts[cell]; ++i) {
+                int id = this.cells[cell][i];
+                if (field.segmentEntry(id, x0, y0, dx, dy, radius, candidate)
+                        && (closestId == -1 || candidate.getTime() < closest.getTime())) {
+                    closestId = id;
+                    closest.set(candidate.getTime(), candidate.getFace());
+                }
+            }
+            double cellExit = Math.min(Math.min(tMaxX, tMaxY), tExit);
+            if (closestId != -1 && closest.getTime() <= cellExit) { // nothing in the next cells is closer
+                return closestId;
+            }
+            if (cellExit >= tExit) { // the trajectory ends inside this cell
+                return closestId;
+            }
+            if (tMaxX < tMaxY) {
+                col += stepX;
+                tMaxX += tDeltaX;
+            } else {
+                row += stepY;
+                tMaxY += tDeltaY;
+            }
+            if (col < 0 || col >= this.cols || row < 0 || row >= this.rows) {
+                return closestId;
+            }
+        }
+    }
+
+    /**
+     * .
+     * function name: getMargin
+     * Function Operation: getter for the margin kept around every brick
+     *
+     * @return the margin - the biggest radius a query may use
+     */
+    public double getMargin() {
+        return this.margin;
+    }
+
+    /**
+     * .
+     * function name: colOf
+     * Function Operation: returns the column of the given x value, clamped to the grid.
+     *
+     * @param x - x value
+     * @return the column index
+     */
+    private int colOf(double x) {
+        int col = (int) Math.floor((x - this.originX) / this.cellSize);
+        return Math.max(0, Math.min(this.cols - 1, col));
+    }
+
+    /**
+     * .
+     * function name: rowOf
+     * Function Operation: returns the row of the given y value, clamped to the grid.
+     *
+     * @param y - y value
+     * @return the row index
+     */
+    private int rowOf(double y) {
+        int row = (int) Math.floor((y - this.originY) / this.cellSize);
+        return Math.max(0, Math.min(this.rows - 1, row));
+    }
+}
@@ -66,6 +66,25 @@ public class Velocity {
         return newP;
     }
 
+    /**
+     * .
+     * function name: reflect
+     * Function Operation: reflects this velocity from a surface with the given (unit) normal:
+     * v - 2 * (v . n) * n. a velocity that already moves away from the surface is returned as is,
+     * so a ball is never turned back into the surface it just left.
+     *
+     * @param normalX - x value of the surface normal
+     * @param normalY - y value of the surface normal
+     * @return the reflected Velocity (or this velocity, if not moving into the surface)
+     */
+    public Velocity reflect(double normalX, double normalY) {
+        double dot = this.dx * normalX + this.dy * normalY;
+        if (dot >= 0) {
+            return this;
+        }
+        return new Velocity(this.dx - 2 * dot * normalX, this.dy - 2 * dot * normalY);
+    }
+
     /**
      * .
      * function name: fromAngleAndSpeed
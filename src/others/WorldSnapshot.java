@@ -0,0 +1,82 @@
+package others;
+
+import animation.GameLevel;
+import biuoop.DrawSurface;
+import interfaces.InterpolatedSprite;
+import interfaces.Sprite;
+
+import java.util.List;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: WorldSnapshot
+ * class operation: Sprite type. the look of a whole frame at one moment - the snapshots of the sprites, in
+ * the order they are drawn. it is never changed after it was created, so one thread can create it while
+ * another draws it. the moving sprites (the balls and the paddle) keep their places before the last step, so
+ * the frame can be drawn at a part of the way of the step.
+ */
+public class WorldSnapshot implements InterpolatedSprite {
+    private Sprite[] sprites;
+
+    /**
+     * .
+     * Function Operation: constructor - keeps the given snapshots.
+     *
+     * @param sprites - the snapshots of the sprites, in the order they are drawn
+     */
+    public WorldSnapshot(List<Sprite> sprites) {
+        this.sprites = sprites.toArray(new Sprite[sprites.size()]);
+    }
+
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: draws all the snapshots on the surface.
+     *
+     * @param d - the surface to draw on
+     */
+    public void drawOn(DrawSurface d) {
+        for (int i = 0; i < this.sprites.length; ++i) {
+            this.sprites[i].drawOn(d);
+        }
+    }
+
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: draws all the snapshots on the surface, the moving ones at the given part of the way
+     * of the last step.
+     *
+     * @param d     - the surface to draw on
+     * @param alpha - the part of the way of the last step, from 0 to 1
+     */
+    public void drawOn(DrawSurface d, double alpha) {
+        for (int i = 0; i < this.sprites.length; ++i) {
+            if (this.sprites[i] instanceof InterpolatedSprite) {
+                ((InterpolatedSprite) this.sprites[i]).drawOn(d, alpha);
+            } else {
+                this.sprites[i].drawOn(d);
+            }
+        }
+    }
+
+    /**
+     * .
+     * function name: timePassed
+     * Function Operation: nothing (a snapshot never changes).
+     * @param dt - does nothing
+     */
+    public void timePassed(double dt) {
+    }
+
+    /**
+     * .
+     * function name: addToGame
+     * Function Operation: nothing.
+     *
+     * @param g - the game animation
+     */
+    public void addToGame(GameLevel g) {
+    }
+}
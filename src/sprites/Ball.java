@@ -3,7 +3,8 @@ package sprites;
 import animation.GameLevel;
 import biuoop.DrawSurface;
 import geometry.Point;
-import geometry.Line;
+import interfaces.InterpolatedSprite;
+import interfaces.SnapshotSprite;
 import interfaces.Sprite;
 import others.CollisionInfo;
 import others.GameEnvironment;
@@ -21,9 +22,11 @@ import java.awt.Color;
  * The ball class implements the sprite interface.
  */
 
-public class Ball implements Sprite {
+public class Ball implements SnapshotSprite, InterpolatedSprite {
+    private static final int DEFAULT_MAX_BOUNCES = 4;
     //members
     private Point center;
+    private Point previousCenter;
     private int radius;
     private java.awt.Color color;
     private Velocity velocity;
@@ -31,6 +34,7 @@ public class Ball implements Sprite {
     private Double dt;
     private Point border1;
     private Point border2;
+    private int maxBounces = DEFAULT_MAX_BOUNCES;
 
 
     /**
@@ -69,6 +73,17 @@ public class Ball implements Sprite {
         return (int) this.center.getY();
     }
 
+    /**
+     * .
+     * function name: getCenter
+     * Function Operation: return the center point of the ball (its exact place).
+     *
+     * @return the center
+     */
+    public Point getCenter() {
+        return this.center;
+    }
+
     /**
      * .
      * function name: getSize
@@ -102,14 +117,58 @@ public class Ball implements Sprite {
      * @param surface - the surface on which we draw the circles and lines
      */
     public void drawOn(DrawSurface surface) {
-        int x = (int) this.center.getX();
-        int y = (int) this.center.getY();
+        this.drawCircle(surface, (int) this.center.getX(), (int) this.center.getY());
+    }
+
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: draws the ball at the given part of the way from its center before the last step
+     * to its current center.
+     *
+     * @param surface - the surface to draw on
+     * @param alpha   - the part of the way, from 0 to 1
+     */
+    public void drawOn(DrawSurface surface, double alpha) {
+        if (this.previousCenter == null) {
+            this.drawOn(surface);
+            return;
+        }
+        double x = this.previousCenter.getX() + (this.center.getX() - this.previousCenter.getX()) * alpha;
+        double y = this.previousCenter.getY() + (this.center.getY() - this.previousCenter.getY()) * alpha;
+        this.drawCircle(surface, (int) x, (int) y);
+    }
+
+    /**
+     * .
+     * function name: drawCircle
+     * Function Operation: draws the ball's circle, with its color and a black border, around the given center.
+     *
+     * @param surface - the surface to draw on
+     * @param x       - x value of the center
+     * @param y       - y value of the center
+     */
+    private void drawCircle(DrawSurface surface, int x, int y) {
         surface.setColor(this.color);
         surface.fillCircle(x, y, this.radius);
         surface.setColor(Color.BLACK);
         surface.drawCircle(x, y, this.radius);
     }
 
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns a ball at the current center, with the same radius and color, that is
+     * never moved. it keeps the center before the last step, so it can be drawn between them.
+     *
+     * @return the snapshot
+     */
+    public Sprite snapshot() {
+        Ball ball = new Ball(new Point(this.center.getX(), this.center.getY()), this.radius, this.color);
+        ball.previousCenter = this.previousCenter; // the centers are replaced, never changed
+        return ball;
+    }
+
     /**
      * .
      * function name: setVelocity
@@ -171,39 +230,49 @@ public class Ball implements Sprite {
         this.dt = fps;
     }
 
+    /**
+     * .
+     * function name: setMaxBounces
+     * Function Operation: sets the number of collisions the ball may resolve in a single step.
+     * if the cap is reached, the rest of the step's movement is dropped.
+     *
+     * @param bounces - the maximal number of collisions in one step (at least 1)
+     */
+    public void setMaxBounces(int bounces) {
+        this.maxBounces = Math.max(1, bounces);
+    }
+
     /**
      * .
      * function name: moveOneStep
      * Function Operation: this method changes the values of the center of the ball
      * so on the drawing surface it will look like the ball moved.
-     * if the ball hitting any coliidable object it will change it direction.
+     * the whole ball (not only its center) is swept along the step's movement: when it touches a collidable
+     * object, the ball is moved to the touching position, its direction is changed, and the rest of the step's
+     * movement continues in the new direction, up to maxBounces collisions in one step.
      */
     public void moveOneStep() {
-        Velocity newVelocity = new Velocity(this.velocity.getDx() * this.dt, this.velocity.getDy() * this.dt);
-        Line trajectory = new Line(this.center, newVelocity.applyToPoint(this.center));
-        CollisionInfo info = this.gameEnvironment.getClosestCollision(trajectory);
-        if (info == null) { //no collisions
-            this.center = trajectory.end(); // move the ball to the end of the line
-        } else { // collision occurred
-            this.velocity = info.collisionObject().hit(this, info.collisionPoint(), this.velocity);
-            if (this.center.getX() > info.collisionObject().getCollisionRectangle().getUpperLeft().getX() //in paddle
-                    && this.center.getX() < info.collisionObject().getCollisionRectangle().getDownRight().getX()
-                    && this.center.getY() < info.collisionObject().getCollisionRectangle().getUpperLeft().getY()
-                    && this.center.getY() > info.collisionObject().getCollisionRectangle().getDownRight().getY()) {
-                this.center = info.collisionPoint(); // move the ball out of the paddle
-            }
-            if (info.collisionObject() instanceof Paddle) {
-                this.center = newVelocity.applyToPoint(this.center);
-            }
-            if (this.center.getX() > 775 && this.velocity.getDx() > 0) {
-                this.center = new Point(773, this.center.getY());
-                this.velocity = new Velocity(this.velocity.getDx() * (-1), this.velocity.getDy());
+        double x = this.center.getX();
+        double y = this.center.getY();
+        double remaining = 1; // the part of this step's movement not done yet
+        for (int bounces = 0; bounces < this.maxBounces; ++bounces) {
+            double dx = this.velocity.getDx() * this.dt * remaining;
+            double dy = this.velocity.getDy() * this.dt * remaining;
+            CollisionInfo info = this.gameEnvironment.getClosestCollision(x, y, dx, dy, this.radius);
+            if (info == null) { //no collisions - move to the end of the step
+                x += dx;
+                y += dy;
+                break;
             }
-            if (this.center.getX() < 25 && this.velocity.getDx() < 0) {
-                this.center = new Point(27, this.center.getY());
-                this.velocity = new Velocity(this.velocity.getDx() * (-1), this.velocity.getDy());
+            x += dx * info.collisionTime(); // move the ball to the touching position
+            y += dy * info.collisionTime();
+            remaining *= 1 - info.collisionTime();
+            this.velocity = info.collisionObject().hit(this, info, this.velocity);
+            if (this.gameEnvironment == null) { // the hit removed the ball from the game
+                break;
             }
         }
+        this.center = new Point(x, y);
     }
 
 
@@ -252,18 +321,21 @@ public class Ball implements Sprite {
      */
     public void timePassed(double fps) {
         this.setDt(fps);
+        this.previousCenter = this.center; // the centers are replaced (not changed) when the ball moves
         this.moveOneStep();
     }
 
     /**
      * .
      * function name: removeFromGame
-     * Function Operation: remove this ball from the sprites in the current game
+     * Function Operation: remove this ball from the sprites and the balls in play in the current game
      *
      * @param g - current game to remove the ball from
      */
     public void removeFromGame(GameLevel g) {
         g.removeSprite(this);
+        g.removeBall(this);
+        this.gameEnvironment = null;
     }
 }
 
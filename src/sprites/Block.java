@@ -2,13 +2,15 @@ package sprites;
 
 import animation.GameLevel;
 import biuoop.DrawSurface;
-import geometry.Point;
+import events.BlockHitEvent;
 import geometry.Rectangle;
 import interfaces.Collidable;
 import interfaces.HitListener;
 import interfaces.HitNotifier;
+import interfaces.SnapshotSprite;
 import interfaces.Sprite;
 import levels.BlockFiller;
+import others.CollisionInfo;
 import others.Velocity;
 
 import java.util.ArrayList;
@@ -26,13 +28,17 @@ import java.util.Map;
  * be hit).
  * the block has the ability to change the direction (and velocity) of the ball that hits him, and to be drawn on the
  * given surface.
+ * a block can also be a handle of a brick kept in a BlockField: then it holds only the field and the brick's
+ * index, and all of its methods work on the field's arrays.
  */
-public class Block implements Collidable, Sprite, HitNotifier {
-    private ArrayList<HitListener> hitListeners = new ArrayList<HitListener>();
+public class Block implements Collidable, SnapshotSprite, HitNotifier {
+    private ArrayList<HitListener> hitListeners;
     private Rectangle rectangle;
     private int hitPoints;
     private Map<Integer, BlockFiller> colorsMap;
     private Color stroke;
+    private BlockField field;
+    private int index;
 
     /**
      * Function Operation: constructor - creates new block from the rectangle class and sets its color.
@@ -41,6 +47,18 @@ public class Block implements Collidable, Sprite, HitNotifier {
      */
     public Block(Rectangle rectangle) {
         this.rectangle = rectangle;
+        this.hitListeners = new ArrayList<HitListener>();
+    }
+
+    /**
+     * Function Operation: constructor - creates a handle of a brick in the given BlockField.
+     *
+     * @param field - the BlockField that keeps the brick
+     * @param index - the brick's index in the field
+     */
+    Block(BlockField field, int index) {
+        this.field = field;
+        this.index = index;
     }
 
     /**
@@ -50,18 +68,50 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param strokeColor - the Color of the Stroke
      */
     public void setStroke(Color strokeColor) {
+        if (this.field != null) {
+            this.field.setTypeId(this.index, this.field.typeOf(this.getColorsMap(), strokeColor));
+            return;
+        }
         this.stroke = strokeColor;
     }
 
+    /**
+     * getter for the stroke member of this block.
+     *
+     * @return the Color of the Stroke (or null)
+     */
+    public Color getStroke() {
+        if (this.field != null) {
+            return this.field.getTypeStroke(this.field.getTypeId(this.index));
+        }
+        return this.stroke;
+    }
+
     /**
      * sets the colorsMap member of this block.
      *
      * @param colors - map of integers (hitpoints) and Colors
      */
     public void setColorsMap(Map<Integer, BlockFiller> colors) {
+        if (this.field != null) {
+            this.field.setTypeId(this.index, this.field.typeOf(colors, this.getStroke()));
+            return;
+        }
         this.colorsMap = colors;
     }
 
+    /**
+     * getter for the colorsMap member of this block.
+     *
+     * @return map of integers (hitpoints) and BlockFillers
+     */
+    public Map<Integer, BlockFiller> getColorsMap() {
+        if (this.field != null) {
+            return this.field.getTypeFills(this.field.getTypeId(this.index));
+        }
+        return this.colorsMap;
+    }
+
     /**
      * .
      * function name: setHitPoints
@@ -70,6 +120,10 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param newHitPoints - Integer with number of hit points block has
      */
     public void setHitPoints(int newHitPoints) {
+        if (this.field != null) {
+            this.field.setHitPoints(this.index, newHitPoints);
+            return;
+        }
         this.hitPoints = newHitPoints;
     }
 
@@ -81,17 +135,23 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @return - this.hit points (integer)
      */
     public int getHitPoints() {
+        if (this.field != null) {
+            return this.field.getHitPoints(this.index);
+        }
         return this.hitPoints;
     }
 
     /**
      * .
      * function name: getCollisionRectangle
-     * Function Operation: getter for this rectangle
+     * Function Operation: getter for this rectangle (for a handle - a new Rectangle with the brick's bounds)
      *
      * @return this.rectangle - the member
      */
     public Rectangle getCollisionRectangle() {
+        if (this.field != null) {
+            return this.field.rectangleOf(this.index);
+        }
         return this.rectangle;
     }
 
@@ -99,11 +159,14 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * .
      * function name: addHitListener
      * Function Operation: adds a new HitListener to the list of hitListeners that
-     * this block has
+     * this block has (for a handle - notified after the listeners of the whole field)
      *
      * @param hl - new HitListener
      */
     public void addHitListener(HitListener hl) {
+        if (this.hitListeners == null) {
+            this.hitListeners = new ArrayList<HitListener>();
+        }
         this.hitListeners.add(hl);
     }
 
@@ -116,7 +179,9 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * @param hl - HitListener to be removed
      */
     public void removeHitListener(HitListener hl) {
-        this.hitListeners.remove(hl);
+        if (this.hitListeners != null) {
+            this.hitListeners.remove(hl);
+        }
     }
 
     /**
@@ -127,7 +192,10 @@ public class Block implements Collidable, Sprite, HitNotifier {
      *
      * @param hitter - the ball that hit the block
      */
-    private void notifyHit(Ball hitter) {
+    void notifyHit(Ball hitter) {
+        if (this.hitListeners == null) {
+            return;
+        }
         List<HitListener> listeners = new ArrayList<HitListener>(this.hitListeners); // update current list
         for (HitListener hl : listeners) {  // Notify all listeners about a hit event
             hl.hitEvent(this, hitter);
@@ -137,79 +205,31 @@ public class Block implements Collidable, Sprite, HitNotifier {
     /**
      * .
      * function name: hit
-     * Function Operation: this method gets the collision Point and the current Velocity of the ball.
-     * it checks the location of the collision according to this block (rectangle) and according to that,
-     * the velocity of the ball is being changed
+     * Function Operation: this method gets the collision information and the current Velocity of the ball.
+     * the velocity of the ball is reflected from the face that was hit, according to its normal.
+     * the hit (with the notifying of the listeners) is a BlockHitEvent of the Flight Recorder.
      *
-     * @param collisionPoint  - the Point where the collision happened
+     * @param collision       - the information about the collision (point, time and face normal)
      * @param currentVelocity - the current velocity of the ball
      * @param hitter          - the ball that hits the block
      * @return currentVelocity - a new Velocity, after the change because of the hit.
      */
-    public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
-        this.hitPoints--;
-        this.notifyHit(hitter);
-        if (collisionPoint.getY() == this.rectangle.getDownRight().getY()
-                || collisionPoint.getY() == this.rectangle.getUpperLeft().getY()) { //hit upper or lower block
-            currentVelocity = new Velocity(currentVelocity.getDx(), currentVelocity.getDy() * (-1));
-        } else if (this.epsilonCheckDy(collisionPoint, currentVelocity)) { // check for an epsilon difference
-            currentVelocity = new Velocity(currentVelocity.getDx(), Math.round(currentVelocity.getDy()) * (-1));
-        }
-        if (collisionPoint.getX() == this.rectangle.getDownRight().getX()
-                || collisionPoint.getX() == this.rectangle.getUpperLeft().getX()) { //hit right or left block
-            currentVelocity = new Velocity(Math.round(currentVelocity.getDx()) * (-1), currentVelocity.getDy());
-        } else if (this.epsilonCheckDx(collisionPoint, currentVelocity)) { // check for an epsilon difference
-            currentVelocity = new Velocity(currentVelocity.getDx() * (-1), currentVelocity.getDy()); //change direct
-        }
-        return currentVelocity;
-    }
-
-    /**
-     * function name: epsilonCheckDy
-     * Function Operation: a helper method for the "hit" method.
-     * this method checks if the difference between the collision point and the upper/ lower blocks are very close but
-     * not equal.
-     *
-     * @param collisionPoint  - the collision point the two lines
-     * @param currentVelocity - the current ball's velocity
-     * @return true/ false boolean value
-     */
-    private boolean epsilonCheckDy(Point collisionPoint, Velocity currentVelocity) {
-        if (this.rectangle.getDownRight().getY() - collisionPoint.getY() < 0.001
-                && this.rectangle.getDownRight().getY() - collisionPoint.getY() != 0
-                && currentVelocity.getDy() < 0) { // check epsilon difference and direction
-            return true;
-        }
-        if (collisionPoint.getY() - this.rectangle.getUpperLeft().getY() < 0.001
-                && collisionPoint.getY() - this.rectangle.getUpperLeft().getY() != 0
-                && currentVelocity.getDy() > 0) { // check epsilon difference and direction
-            return true;
-        }
-        return false;
-    }
-
-    /**
-     * function name: epsilonCheckDx
-     * Function Operation:a helper method for the "hit" method.
-     * this method checks if the difference between the collision point and the right/ left blocks are very
-     * close but not equal.
-     *
-     * @param collisionPoint  - the collision point the two lines
-     * @param currentVelocity - the current ball's velocity
-     * @return true/ false boolean value
-     */
-    private boolean epsilonCheckDx(Point collisionPoint, Velocity currentVelocity) {
-        if (this.rectangle.getDownRight().getX() - collisionPoint.getX() < 0.001
-                && this.rectangle.getDownRight().getX() - collisionPoint.getX() != 0
-                && currentVelocity.getDx() < 0) { // check epsilon difference and direction
-            return true;
+    public Velocity hit(Ball hitter, CollisionInfo collision, Velocity currentVelocity) {
+        BlockHitEvent event = new BlockHitEvent();
+        event.begin();
+        Velocity velocity;
+        if (this.field != null) {
+            velocity = this.field.hit(this.index, hitter, collision, currentVelocity);
+        } else {
+            this.hitPoints--;
+            this.notifyHit(hitter);
+            velocity = currentVelocity.reflect(collision.normalX(), collision.normalY());
         }
-        if (collisionPoint.getX() - this.rectangle.getUpperLeft().getX() < 0.001
-                && collisionPoint.getX() - this.rectangle.getUpperLeft().getX() != 0
-                && currentVelocity.getDx() > 0) { // check epsilon difference and direction
-            return true;
+        if (event.shouldCommit()) {
+            event.set(this.getHitPoints(), this.field != null);
+            event.commit();
         }
-        return false;
+        return velocity;
     }
 
     /**
@@ -223,6 +243,10 @@ public class Block implements Collidable, Sprite, HitNotifier {
      */
 
     public void drawOn(DrawSurface surface) {
+        if (this.field != null) {
+            this.field.drawBrick(surface, this.index);
+            return;
+        }
         int i1 = (int) this.rectangle.getUpperLeft().getX();
         int i2 = (int) this.rectangle.getUpperLeft().getY();
         int i3 = (int) this.rectangle.getWidth();
@@ -241,15 +265,37 @@ public class Block implements Collidable, Sprite, HitNotifier {
         }
     }
 
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns a block with the current hit points, rectangle and look, that is never hit.
+     * a handle of a brick is drawn by its BlockField's snapshot, so its snapshot is drawn the same way.
+     *
+     * @return the snapshot
+     */
+    public Sprite snapshot() {
+        if (this.field != null) {
+            return this.field.snapshot();
+        }
+        Block copy = new Block(this.rectangle);
+        copy.hitPoints = this.hitPoints;
+        copy.colorsMap = this.colorsMap;
+        copy.stroke = this.stroke;
+        return copy;
+    }
+
     /**
      * .
      * function name: addToGame
      * Function Operation: add the block to the game: to the sprites collection and to the collidables
-     * collection
+     * collection. a handle is already in the game through its BlockField, so nothing is added.
      *
      * @param g - the game object that owns the sprites and collidables collection
      */
     public void addToGame(GameLevel g) {
+        if (this.field != null) {
+            return;
+        }
         g.addSprite(this);
         g.addCollidable(this);
     }
@@ -258,11 +304,15 @@ public class Block implements Collidable, Sprite, HitNotifier {
      * .
      * function name: removeFromGame
      * Function Operation: remove this block from the sprites and collidables
-     * in the current game
+     * in the current game (for a handle - remove the brick from its BlockField)
      *
      * @param game - - current game to remove the block from
      */
     public void removeFromGame(GameLevel game) {
+        if (this.field != null) {
+            this.field.remove(this.index);
+            return;
+        }
         game.removeCollidable(this);
         game.removeSprite(this);
     }
@@ -0,0 +1,622 @@
+package sprites;
+
+import animation.GameLevel;
+import biuoop.DrawSurface;
+import geometry.Point;
+import geometry.Rectangle;
+import geometry.SegmentHit;
+import interfaces.BrickSource;
+import interfaces.HitListener;
+import interfaces.HitNotifier;
+import interfaces.SnapshotSprite;
+import interfaces.Sprite;
+import levels.BlockFiller;
+import others.CollisionInfo;
+import others.UniformGrid;
+import others.Velocity;
+
+import java.awt.Color;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: BlockField
+ * class operation: keeps all the static bricks of a level in parallel arrays (x, y, width, height, hit points
+ * and type id) instead of a full Block object per brick. a brick type is the look that bricks of the same
+ * definition share (the fillers per hit points and the stroke).
+ * the field is a single Sprite that draws all the live bricks through a BlockLayer (an off-screen image that is
+ * drawn again only where a brick changed), and it answers the GameEnvironment's
+ * collision queries over its arrays (through a UniformGrid once the level is loaded). every brick has a
+ * lightweight Block handle that exposes it to the balls (Collidable) and to the hit listeners (HitNotifier).
+ * a snapshot of the bricks copies their state once after every change, and is shared until the next change.
+ */
+public class BlockField implements SnapshotSprite, HitNotifier, BrickSource {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final double GRID_CELL_SIZE = 50;
+    private static final double GRID_MARGIN = 10;
+    private int count;
+    private int liveCount;
+    private double[] x = new double[INITIAL_CAPACITY];
+    private double[] y = new double[INITIAL_CAPACITY];
+    private double[] width = new double[INITIAL_CAPACITY];
+    private double[] height = new double[INITIAL_CAPACITY];
+    private int[] hitPoints = new int[INITIAL_CAPACITY];
+    private int[] typeId = new int[INITIAL_CAPACITY];
+    private boolean[] alive = new boolean[INITIAL_CAPACITY];
+    private Block[] handles = new Block[INITIAL_CAPACITY];
+    private ArrayList<Map<Integer, BlockFiller>> typeFills = new ArrayList<Map<Integer, BlockFiller>>();
+    private ArrayList<Color> typeStrokes = new ArrayList<Color>();
+    private ArrayList<HitListener> hitListeners = new ArrayList<HitListener>();
+    private UniformGrid grid;
+    private BlockLayer layer = new BlockLayer();
+    private BlockLayer snapshotLayer = new BlockLayer();
+    private BlockFieldSnapshot snapshot;
+    private long segmentTests;
+
+    /**
+     * .
+     * function name: add
+     * Function Operation: copies the given block (rectangle, hit points, fillers and stroke) into the field's
+     * arrays as a new live brick. the given block itself is not kept.
+     *
+     * @param block - the block to copy
+     * @return the Block handle of the new brick
+     */
+    public Block add(Block block) {
+        Rectangle rect = block.getCollisionRectangle();
+        return this.add(rect.getUpperLeft().getX(), rect.getUpperLeft().getY(), rect.getWidth(), rect.getHeight(),
+                block.getHitPoints(), this.typeOf(block.getColorsMap(), block.getStroke()));
+    }
+
+    /**
+     * .
+     * function name: add
+     * Function Operation: adds a new live brick to the field.
+     *
+     * @param brickX      - x value of the brick's upper left corner
+     * @param brickY      - y value of the brick's upper left corner
+     * @param brickWidth  - the brick's width
+     * @param brickHeight - the brick's height
+     * @param brickHits   - the brick's hit points
+     * @param type        - the brick's type id (see typeOf)
+     * @return the Block handle of the new brick
+     */
+    public Block add(double brickX, double brickY, double brickWidth, double brickHeight, int brickHits, int type) {
+        if (this.count == this.x.length) {
+            this.grow();
+        }
+        int i = this.count;
+        this.x[i] = brickX;
+        this.y[i] = brickY;
+        this.width[i] = brickWidth;
+        this.height[i] = brickHeight;
+        this.hitPoints[i] = brickHits;
+        this.typeId[i] = type;
+        this.alive[i] = true;
+        this.handles[i] = new Block(this, i);
+        if (this.grid != null) {
+            this.grid.add(i, brickX, brickY, brickWidth, brickHeight);
+        }
+        this.layer.invalidate(brickX, brickY, brickWidth, brickHeight);
+        this.snapshot = null;
+        this.count++;
+        this.liveCount++;
+        return this.handles[i];
+    }
+
+    /**
+     * .
+     * function name: typeOf
+     * Function Operation: returns the id of the brick type with the given fillers and stroke, and adds a new
+     * type if there is none. blocks of the same definition share the same fillers map.
+     *
+     * @param fills  - map of hit points and BlockFillers
+     * @param stroke - the stroke color (or null)
+     * @return the type id
+     */
+    public int typeOf(Map<Integer, BlockFiller> fills, Color stroke) {
+        for (int i = 0; i < this.typeFills.size(); ++i) {
+            if (this.typeFills.get(i) == fills
+                    && (stroke == null ? this.typeStrokes.get(i) == null : stroke.equals(this.typeStrokes.get(i)))) {
+                return i;
+            }
+        }
+        this.typeFills.add(fills);
+        this.typeStrokes.add(stroke);
+        return this.typeFills.size() - 1;
+    }
+
+    /**
+     * .
+     * function name: grow
+     * Function Operation: doubles the capacity of all the arrays.
+     */
+    private void grow() {
+        int capacity = this.x.length * 2;
+        this.x = Arrays.copyOf(this.x, capacity);
+        this.y = Arrays.copyOf(this.y, capacity);
+        this.width = Arrays.copyOf(this.width, capacity);
+        this.height = Arrays.copyOf(this.height, capacity);
+        this.hitPoints = Arrays.copyOf(this.hitPoints, capacity);
+        this.typeId = Arrays.copyOf(this.typeId, capacity);
+        this.alive = Arrays.copyOf(this.alive, capacity);
+        this.handles = Arrays.copyOf(this.handles, capacity);
+    }
+
+    /**
+     * .
+     * function name: buildIndex
+     * Function Operation: builds the grid of all the live bricks. called once the level is loaded;
+     * later additions and removals update it.
+     */
+    public void buildIndex() {
+        double minX = 0;
+        double minY = 0;
+        double maxX = 0;
+        double maxY = 0;
+        for (int i = 0; i < this.count; ++i) {
+            if (i == 0 || this.x[i] < minX) {
+                minX = this.x[i];
+            }
+            if (i == 0 || this.y[i] < minY) {
+                minY = this.y[i];
+            }
+            if (i == 0 || this.x[i] + this.width[i] > maxX) {
+                maxX = this.x[i] + this.width[i];
+            }
+            if (i == 0 || this.y[i] + this.height[i] > maxY) {
+                maxY = this.y[i] + this.height[i];
+            }
+        }
+        this.grid = new UniformGrid(minX, minY, maxX, maxY, GRID_CELL_SIZE, GRID_MARGIN);
+        for (int i = 0; i < this.count; ++i) {
+            if (this.alive[i]) {
+                this.grid.add(i, this.x[i], this.y[i], this.width[i], this.height[i]);
+            }
+        }
+    }
+
+    /**
+     * .
+     * function name: segmentEntry
+     * Function Operation: the rectangle slab test for a single brick.
+     *
+     * @param i      - the brick's index
+     * @param x0     - x value of the trajectory's start
+     * @param y0     - y value of the trajectory's start
+     * @param dx     - progress of the trajectory on X-axis
+     * @param dy     - progress of the trajectory on Y-axis
+     * @param radius - radius of the moving circle
+     * @param hit    - holder that gets the entry time and face
+     * @return true if the brick is hit, false if not
+     */
+    public boolean segmentEntry(int i, double x0, double y0, double dx, double dy, double radius, SegmentHit hit) {
+        this.segmentTests++;
+        return Rectangle.segmentEntry(this.x[i], this.y[i], this.width[i], this.height[i],
+                x0, y0, dx, dy, radius, hit);
+    }
+
+    /**
+     * .
+     * function name: closestBrick
+     * Function Operation: finds the first live brick hit along the trajectory - through the grid if it was
+     * built, or by one linear pass over the arrays if not.
+     *
+     * @param x0        - x value of the trajectory's start
+     * @param y0        - y value of the trajectory's start
+     * @param dx        - progress of the trajectory on X-axis
+     * @param dy        - progress of the trajectory on Y-axis
+     * @param radius    - radius of the moving circle
+     * @param candidate - scratch holder for the test of a single brick
+     * @param closest   - holder that gets the entry time and face of the closest hit
+     * @return the index of the closest brick hit, or -1 if there is none
+     */
+    public int closestBrick(double x0, double y0, double dx, double dy, double radius,
+                            SegmentHit candidate, SegmentHit closest) {
+        if (this.grid != null && radius <= this.grid.getMargin()) {
+            return this.grid.closestBrick(x0, y0, dx, dy, radius, this, candidate, closest);
+        }
+        int closestId = -1;
+        for (int i = 0; i < this.count; ++i) {
+            if (this.alive[i] && this.segmentEntry(i, x0, y0, dx, dy, radius, candidate)
+                    && (closestId == -1 || candidate.getTime() < closest.getTime())) {
+                closestId = i;
+                closest.set(candidate.getTime(), candidate.getFace());
+            }
+        }
+        return closestId;
+    }
+
+    /**
+     * .
+     * function name: getSegmentTests
+     * Function Operation: getter - the number of bricks tested against trajectories so far (by segmentEntry).
+     *
+     * @return number of tests
+     */
+    public long getSegmentTests() {
+        return this.segmentTests;
+    }
+
+    /**
+     * .
+     * function name: entryPoint
+     * Function Operation: creates the touching Point on the brick, for the result of segmentEntry.
+     *
+     * @param i   - the brick's index
+     * @param x0  - x value of the trajectory's start
+     * @param y0  - y value of the trajectory's start
+     * @param dx  - progress of the trajectory on X-axis
+     * @param dy  - progress of the trajectory on Y-axis
+     * @param hit - the result of segmentEntry for the same trajectory
+     * @return the touching Point
+     */
+    public Point entryPoint(int i, double x0, double y0, double dx, double dy, SegmentHit hit) {
+        return Rectangle.entryPoint(this.x[i], this.y[i], this.width[i], this.height[i], x0, y0, dx, dy, hit);
+    }
+
+    /**
+     * .
+     * function name: hit
+     * Function Operation: the brick was hit - decrease its hit points, notify the listeners and reflect the
+     * ball's velocity from the face that was hit.
+     *
+     * @param i               - the brick's index
+     * @param hitter          - the ball that hits the brick
+     * @param collision       - the information about the collision (point, time and face normal)
+     * @param currentVelocity - the current velocity of the ball
+     * @return a new Velocity, after the change because of the hit.
+     */
+    public Velocity hit(int i, Ball hitter, CollisionInfo collision, Velocity currentVelocity) {
+        this.hitPoints[i]--;
+        this.invalidate(i); // the brick may look different with less hit points
+        List<HitListener> listeners = new ArrayList<HitListener>(this.hitListeners); // update current list
+        for (HitListener hl : listeners) {
+            hl.hitEvent(this.handles[i], hitter);
+        }
+        this.handles[i].notifyHit(hitter); // listeners added to this brick only
+        return currentVelocity.reflect(collision.normalX(), collision.normalY());
+    }
+
+    /**
+     * .
+     * function name: remove
+     * Function Operation: removes the brick from the game - it is not drawn or hit anymore.
+     *
+     * @param i - the brick's index
+     */
+    public void remove(int i) {
+        if (!this.alive[i]) {
+            return;
+        }
+        this.alive[i] = false;
+        this.liveCount--;
+        this.invalidate(i);
+        if (this.grid != null) {
+            this.grid.remove(i, this.x[i], this.y[i], this.width[i], this.height[i]);
+        }
+    }
+
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: draws all the live bricks - the layer draws again the bricks that changed since the
+     * last frame, and then its image is drawn on the surface.
+     *
+     * @param d - the surface to draw on
+     */
+    public void drawOn(DrawSurface d) {
+        this.layer.drawOn(d, this);
+    }
+
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns a snapshot of the bricks. the state is copied only if a brick changed since
+     * the last snapshot; otherwise the last snapshot is returned again.
+     *
+     * @return the snapshot of the bricks
+     */
+    public Sprite snapshot() {
+        if (this.snapshot == null) {
+            this.snapshot = new BlockFieldSnapshot(this, this.snapshotLayer, this.count,
+                    Arrays.copyOf(this.hitPoints, this.count), Arrays.copyOf(this.typeId, this.count),
+                    Arrays.copyOf(this.alive, this.count));
+        }
+        return this.snapshot;
+    }
+
+    /**
+     * .
+     * function name: invalidate
+     * Function Operation: marks the area of the brick in the layer as dirty, so it is drawn again before
+     * the next frame, and drops the last snapshot (it does not show the change).
+     *
+     * @param i - the brick's index
+     */
+    private void invalidate(int i) {
+        this.layer.invalidate(this.x[i], this.y[i], this.width[i], this.height[i]);
+        this.snapshot = null;
+    }
+
+    /**
+     * .
+     * function name: drawBrick
+     * Function Operation: draws a single brick with the filler of its current hit points (or the first filler
+     * of its type, if there is no filler for these hit points) and its stroke.
+     *
+     * @param d - the surface to draw on
+     * @param i - the brick's index
+     */
+    public void drawBrick(DrawSurface d, int i) {
+        this.drawBrick(d, i, this.hitPoints[i], this.typeId[i]);
+    }
+
+    /**
+     * .
+     * function name: drawBrick
+     * Function Operation: draws a single brick in its place, with the given hit points and type (of a snapshot).
+     *
+     * @param d    - the surface to draw on
+     * @param i    - the brick's index
+     * @param hits - the hit points to draw the brick with
+     * @param type - the type to draw the brick with
+     */
+    public void drawBrick(DrawSurface d, int i, int hits, int type) {
+        int bx = (int) this.x[i];
+        int by = (int) this.y[i];
+        int bw = (int) this.width[i];
+        int bh = (int) this.height[i];
+        Map<Integer, BlockFiller> fills = this.typeFills.get(type);
+        BlockFiller filler = fills.get(hits);
+        if (filler == null) {
+            filler = fills.values().iterator().next();
+        }
+        filler.drawBlock(d, bx, by, bw, bh);
+        Color stroke = this.typeStrokes.get(type);
+        if (stroke != null) {
+            d.setColor(stroke);
+            d.drawRectangle(bx, by, bw, bh); //draw borders around the filled rectangle
+        }
+    }
+
+    /**
+     * function name: timePassed
+     * Function Operation: sprite's interface method, does nothing.
+     *
+     * @param dt - does nothing
+     */
+    public void timePassed(double dt) {
+    }
+
+    /**
+     * .
+     * function name: addToGame
+     * Function Operation: adds the field to the game: to the sprites collection, and as the game
+     * environment's bricks.
+     *
+     * @param g - the game object that owns the sprites and collidables collection
+     */
+    public void addToGame(GameLevel g) {
+        g.addSprite(this);
+        g.getGameEnvironment().setBlockField(this);
+    }
+
+    /**
+     * .
+     * function name: addHitListener
+     * Function Operation: adds a HitListener that is notified when any brick of the field is hit.
+     *
+     * @param hl - new HitListener
+     */
+    public void addHitListener(HitListener hl) {
+        this.hitListeners.add(hl);
+    }
+
+    /**
+     * .
+     * function name: removeHitListener
+     * Function Operation: removes a HitListener that was added to the whole field.
+     *
+     * @param hl - HitListener to be removed
+     */
+    public void removeHitListener(HitListener hl) {
+        this.hitListeners.remove(hl);
+    }
+
+    /**
+     * .
+     * function name: size
+     * Function Operation: returns the number of bricks ever added to the field (live or removed).
+     * brick indexes go from 0 to size - 1.
+     *
+     * @return number of bricks
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * .
+     * function name: getLiveCount
+     * Function Operation: returns the number of bricks that were not removed.
+     *
+     * @return number of live bricks
+     */
+    public int getLiveCount() {
+        return this.liveCount;
+    }
+
+    /**
+     * .
+     * function name: isAlive
+     * Function Operation: returns true if the brick was not removed.
+     *
+     * @param i - the brick's index
+     * @return true or false
+     */
+    public boolean isAlive(int i) {
+        return this.alive[i];
+    }
+
+    /**
+     * .
+     * function name: getHandle
+     * Function Operation: returns the Block handle of the brick.
+     *
+     * @param i - the brick's index
+     * @return the brick's Block handle
+     */
+    public Block getHandle(int i) {
+        return this.handles[i];
+    }
+
+    /**
+     * .
+     * function name: getX
+     * Function Operation: returns the x value of the brick's upper left corner.
+     *
+     * @param i - the brick's index
+     * @return x value
+     */
+    public double getX(int i) {
+        return this.x[i];
+    }
+
+    /**
+     * .
+     * function name: getY
+     * Function Operation: returns the y value of the brick's upper left corner.
+     *
+     * @param i - the brick's index
+     * @return y value
+     */
+    public double getY(int i) {
+        return this.y[i];
+    }
+
+    /**
+     * .
+     * function name: getWidth
+     * Function Operation: returns the brick's width.
+     *
+     * @param i - the brick's index
+     * @return the width
+     */
+    public double getWidth(int i) {
+        return this.width[i];
+    }
+
+    /**
+     * .
+     * function name: getHeight
+     * Function Operation: returns the brick's height.
+     *
+     * @param i - the brick's index
+     * @return the height
+     */
+    public double getHeight(int i) {
+        return this.height[i];
+    }
+
+    /**
+     * .
+     * function name: getHitPoints
+     * Function Operation: returns the brick's hit points.
+     *
+     * @param i - the brick's index
+     * @return the hit points
+     */
+    public int getHitPoints(int i) {
+        return this.hitPoints[i];
+    }
+
+    /**
+     * .
+     * function name: setHitPoints
+     * Function Operation: sets the brick's hit points.
+     *
+     * @param i     - the brick's index
+     * @param value - the new hit points
+     */
+    public void setHitPoints(int i, int value) {
+        this.hitPoints[i] = value;
+        this.invalidate(i);
+    }
+
+    /**
+     * .
+     * function name: getTypeId
+     * Function Operation: returns the brick's type id.
+     *
+     * @param i - the brick's index
+     * @return the type id
+     */
+    public int getTypeId(int i) {
+        return this.typeId[i];
+    }
+
+    /**
+     * .
+     * function name: setTypeId
+     * Function Operation: sets the brick's type id.
+     *
+     * @param i    - the brick's index
+     * @param type - the new type id (see typeOf)
+     */
+    public void setTypeId(int i, int type) {
+        this.typeId[i] = type;
+        this.invalidate(i);
+    }
+
+    /**
+     * .
+     * function name: getTypeCount
+     * Function Operation: returns the number of brick types of the field.
+     *
+     * @return the number of types
+     */
+    public int getTypeCount() {
+        return this.typeFills.size();
+    }
+
+    /**
+     * .
+     * function name: getTypeFills
+     * Function Operation: returns the fillers map of a brick type.
+     *
+     * @param type - the type id
+     * @return map of hit points and BlockFillers
+     */
+    public Map<Integer, BlockFiller> getTypeFills(int type) {
+        return this.typeFills.get(type);
+    }
+
+    /**
+     * .
+     * function name: getTypeStroke
+     * Function Operation: returns the stroke color of a brick type.
+     *
+     * @param type - the type id
+     * @return the stroke Color (or null)
+     */
+    public Color getTypeStroke(int type) {
+        return this.typeStrokes.get(type);
+    }
+
+    /**
+     * .
+     * function name: rectangleOf
+     * Function Operation: creates a Rectangle with the brick's bounds (a new object on every call).
+     *
+     * @param i - the brick's index
+     * @return new Rectangle
+     */
+    public Rectangle rectangleOf(int i) {
+        return new Rectangle(new Point(this.x[i], this.y[i]), this.width[i], this.height[i]);
+    }
+}
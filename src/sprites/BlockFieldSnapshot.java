@@ -0,0 +1,172 @@
+package sprites;
+
+import animation.GameLevel;
+import biuoop.DrawSurface;
+import interfaces.BrickSource;
+import interfaces.Sprite;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: BlockFieldSnapshot
+ * class operation: Sprite type. the bricks of a BlockField at one moment - copies of their hit points, types
+ * and live flags (their places and sizes do not change once the level is loaded, so they are read from the
+ * field). it is drawn through the field's snapshot layer, which draws again only the bricks that changed
+ * since the snapshot it drew before.
+ */
+public class BlockFieldSnapshot implements Sprite, BrickSource {
+    private BlockField field;
+    private BlockLayer layer;
+    private int count;
+    private int[] hitPoints;
+    private int[] typeId;
+    private boolean[] alive;
+
+    /**
+     * .
+     * Function Operation: constructor - keeps the copies of the bricks' state.
+     *
+     * @param field     - the BlockField of the bricks
+     * @param layer     - the layer that draws the field's snapshots
+     * @param count     - number of bricks
+     * @param hitPoints - copy of the bricks' hit points
+     * @param typeId    - copy of the bricks' types
+     * @param alive     - copy of the bricks' live flags
+     */
+    public BlockFieldSnapshot(BlockField field, BlockLayer layer, int count, int[] hitPoints, int[] typeId,
+                              boolean[] alive) {
+        this.field = field;
+        this.layer = layer;
+        this.count = count;
+        this.hitPoints = hitPoints;
+        this.typeId = typeId;
+        this.alive = alive;
+    }
+
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: draws the bricks of the snapshot (through the field's snapshot layer).
+     *
+     * @param d - the surface to draw on
+     */
+    public void drawOn(DrawSurface d) {
+        this.layer.drawSnapshot(d, this);
+    }
+
+    /**
+     * function name: size
+     * Function Operation: getter for the number of bricks (live or removed).
+     *
+     * @return number of bricks
+     */
+    public int size() {
+        return this.count;
+    }
+
+    /**
+     * function name: isAlive
+     * Function Operation: returns true if the brick was not removed when the snapshot was taken.
+     *
+     * @param i - the brick's index
+     * @return true if the brick is live
+     */
+    public boolean isAlive(int i) {
+        return this.alive[i];
+    }
+
+    /**
+     * function name: getX
+     * Function Operation: getter for the x value of the brick's upper left corner.
+     *
+     * @param i - the brick's index
+     * @return x value
+     */
+    public double getX(int i) {
+        return this.field.getX(i);
+    }
+
+    /**
+     * function name: getY
+     * Function Operation: getter for the y value of the brick's upper left corner.
+     *
+     * @param i - the brick's index
+     * @return y value
+     */
+    public double getY(int i) {
+        return this.field.getY(i);
+    }
+
+    /**
+     * function name: getWidth
+     * Function Operation: getter for the brick's width.
+     *
+     * @param i - the brick's index
+     * @return width
+     */
+    public double getWidth(int i) {
+        return this.field.getWidth(i);
+    }
+
+    /**
+     * function name: getHeight
+     * Function Operation: getter for the brick's height.
+     *
+     * @param i - the brick's index
+     * @return height
+     */
+    public double getHeight(int i) {
+        return this.field.getHeight(i);
+    }
+
+    /**
+     * function name: getHitPoints
+     * Function Operation: getter for the brick's hit points when the snapshot was taken.
+     *
+     * @param i - the brick's index
+     * @return hit points
+     */
+    public int getHitPoints(int i) {
+        return this.hitPoints[i];
+    }
+
+    /**
+     * function name: getTypeId
+     * Function Operation: getter for the brick's type when the snapshot was taken.
+     *
+     * @param i - the brick's index
+     * @return the type's id
+     */
+    public int getTypeId(int i) {
+        return this.typeId[i];
+    }
+
+    /**
+     * function name: drawBrick
+     * Function Operation: draws a single brick, with its hit points and type of the snapshot.
+     *
+     * @param d - the surface to draw on
+     * @param i - the brick's index
+     */
+    public void drawBrick(DrawSurface d, int i) {
+        this.field.drawBrick(d, i, this.hitPoints[i], this.typeId[i]);
+    }
+
+    /**
+     * function name: timePassed
+     * Function Operation: nothing (a snapshot never changes).
+     *
+     * @param dt - does nothing
+     */
+    public void timePassed(double dt) {
+    }
+
+    /**
+     * function name: addToGame
+     * Function Operation: nothing.
+     *
+     * @param g - the game animation
+     */
+    public void addToGame(GameLevel g) {
+    }
+}
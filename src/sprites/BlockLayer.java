@@ -0,0 +1,146 @@
+package sprites;
+
+import animation.ImageDrawSurface;
+import animation.NullDrawSurface;
+import biuoop.DrawSurface;
+import interfaces.BrickSource;
+
+import java.awt.AlphaComposite;
+import java.awt.Composite;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.util.ArrayList;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: BlockLayer
+ * class operation: an off-screen image of all the live bricks of a BlockField. the bricks are drawn
+ * on the image once, and every frame the image is drawn on the screen with a single drawImage.
+ * when a brick is damaged or removed, only its area of the image is marked as dirty; before the next
+ * frame the dirty areas are cleared and the live bricks inside them are drawn again.
+ * a layer can also draw snapshots of the bricks (on a render thread): then the dirty areas are the bricks that
+ * changed between the snapshot it drew before and the new one.
+ */
+public class BlockLayer {
+    private ImageDrawSurface surface;
+    private boolean valid;
+    private ArrayList<int[]> dirtyRegions = new ArrayList<int[]>();
+    private BrickSource drawnSnapshot;
+
+    /**
+     * .
+     * function name: invalidate
+     * Function Operation: marks the area of a brick (with its stroke) as dirty.
+     *
+     * @param x      - x value of the brick's upper left corner
+     * @param y      - y value of the brick's upper left corner
+     * @param width  - the brick's width
+     * @param height - the brick's height
+     */
+    public void invalidate(double x, double y, double width, double height) {
+        if (!this.valid) { // the whole image is drawn again anyway
+            return;
+        }
+        // the stroke is drawn one pixel to the right and under the filled rectangle
+        this.dirtyRegions.add(new int[] {(int) x, (int) y, (int) width + 1, (int) height + 1});
+    }
+
+    /**
+     * .
+     * function name: invalidateAll
+     * Function Operation: marks the whole image as dirty.
+     */
+    public void invalidateAll() {
+        this.valid = false;
+        this.dirtyRegions.clear();
+    }
+
+    /**
+     * .
+     * function name: drawSnapshot
+     * Function Operation: marks the bricks that changed since the snapshot drawn before as dirty, and draws
+     * the image of the new snapshot on the surface.
+     *
+     * @param d        - the surface to draw on
+     * @param snapshot - the snapshot of the bricks
+     */
+    public void drawSnapshot(DrawSurface d, BrickSource snapshot) {
+        BrickSource before = this.drawnSnapshot;
+        if (before != null && before != snapshot) {
+            for (int i = 0; i < snapshot.size(); ++i) {
+                if (i >= before.size() || before.isAlive(i) != snapshot.isAlive(i)
+                        || before.getHitPoints(i) != snapshot.getHitPoints(i)
+                        || before.getTypeId(i) != snapshot.getTypeId(i)) {
+                    this.invalidate(snapshot.getX(i), snapshot.getY(i), snapshot.getWidth(i), snapshot.getHeight(i));
+                }
+            }
+        }
+        this.drawnSnapshot = snapshot;
+        this.drawOn(d, snapshot);
+    }
+
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: brings the image up to date with the field's bricks, and draws it on the surface.
+     * a surface that draws nothing (a headless run) gets nothing, and the image is not kept at all.
+     *
+     * @param d     - the surface to draw on
+     * @param field - the bricks in the image (a BlockField or a snapshot of it)
+     */
+    public void drawOn(DrawSurface d, BrickSource field) {
+        if (d instanceof NullDrawSurface) {
+            return;
+        }
+        if (this.surface == null || this.surface.getWidth() != d.getWidth()
+                || this.surface.getHeight() != d.getHeight()) {
+            this.surface = new ImageDrawSurface(new BufferedImage(d.getWidth(), d.getHeight(),
+                    BufferedImage.TYPE_INT_ARGB));
+            this.invalidateAll();
+        }
+        if (!this.valid) {
+            this.redraw(field, 0, 0, this.surface.getWidth(), this.surface.getHeight());
+            this.valid = true;
+        } else {
+            for (int[] region : this.dirtyRegions) {
+                this.redraw(field, region[0], region[1], region[2], region[3]);
+            }
+        }
+        this.dirtyRegions.clear();
+        d.drawImage(0, 0, this.surface.getImage());
+    }
+
+    /**
+     * .
+     * function name: redraw
+     * Function Operation: clears an area of the image and draws the live bricks that touch it, clipped
+     * to the area (so the bricks around it are not drawn twice).
+     *
+     * @param field  - the bricks in the image
+     * @param x      - x value of the area's upper left corner
+     * @param y      - y value of the area's upper left corner
+     * @param width  - the area's width
+     * @param height - the area's height
+     */
+    private void redraw(BrickSource field, int x, int y, int width, int height) {
+        Graphics2D g = this.surface.getGraphics();
+        g.setClip(x, y, width, height);
+        Composite composite = g.getComposite();
+        g.setComposite(AlphaComposite.Clear);
+        g.fillRect(x, y, width, height);
+        g.setComposite(composite);
+        for (int i = 0; i < field.size(); ++i) {
+            if (!field.isAlive(i)) {
+                continue;
+            }
+            int bx = (int) field.getX(i);
+            int by = (int) field.getY(i);
+            if (bx <= x + width && bx + (int) field.getWidth(i) >= x
+                    && by <= y + height && by + (int) field.getHeight(i) >= y) {
+                field.drawBrick(this.surface, i);
+            }
+        }
+        g.setClip(null);
+    }
+}
@@ -3,6 +3,7 @@ package sprites;
 import animation.GameLevel;
 import biuoop.DrawSurface;
 
+import interfaces.SnapshotSprite;
 import interfaces.Sprite;
 import others.Counter;
 
@@ -14,7 +15,7 @@ import java.awt.Color;
  * class operation: Sprite type, sits on the top of the screen and indicates
  * the number of lives the player remains.
  */
-public class LivesIndicator implements Sprite {
+public class LivesIndicator implements SnapshotSprite {
     private Counter lives;
 
     /**.
@@ -37,6 +38,19 @@ public class LivesIndicator implements Sprite {
         d.drawText(100, 15, "Lives: " + s, 15);
     }
 
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns an indicator of the current number of lives, that does not change.
+     *
+     * @return the snapshot
+     */
+    public Sprite snapshot() {
+        Counter value = new Counter();
+        value.increase(this.lives.getValue());
+        return new LivesIndicator(value);
+    }
+
     /**.
      * function name: timePassed
      * Function Operation:nothing
@@ -6,8 +6,11 @@ import geometry.Point;
 import geometry.Line;
 import geometry.Rectangle;
 import interfaces.Collidable;
+import interfaces.InterpolatedSprite;
 import interfaces.LevelInformation;
+import interfaces.SnapshotSprite;
 import interfaces.Sprite;
+import others.CollisionInfo;
 import others.Velocity;
 
 
@@ -23,13 +26,15 @@ import java.awt.Color;
  * the Paddle has the ability to change the direction (and velocity) of the ball that hits him
  * according to the hit location on the paddle, and to be drawn on the given surface.
  */
-public class Paddle implements Sprite, Collidable {
+public class Paddle implements SnapshotSprite, InterpolatedSprite, Collidable {
+    private static final double[] REGION_ANGLES = {300, 330, 360, 30, 60}; // from strong left to strong right
     private final double borderBlockSize = 20;
     private final double screenWidth = 800;
     private double paddleSpeed;
     private Line movementLine;
     private biuoop.KeyboardSensor keyboard;
     private Rectangle rectangle;
+    private Rectangle previousRectangle;
     private Color color;
     private Double dt;
 
@@ -99,6 +104,7 @@ public class Paddle implements Sprite, Collidable {
      */
     public void timePassed(double fps) {
         this.setDt(fps);
+        this.previousRectangle = this.rectangle; // the rectangles are replaced (not changed) when it moves
         if (this.keyboard.isPressed(keyboard.LEFT_KEY)) {
             moveLeft();
         }
@@ -115,8 +121,39 @@ public class Paddle implements Sprite, Collidable {
      * @param d - the given draw surface on which the paddle should be drawn
      */
     public void drawOn(DrawSurface d) {
-        int i1 = (int) this.rectangle.getUpperLeft().getX();
-        int i2 = (int) this.rectangle.getUpperLeft().getY();
+        this.drawRectangle(d, this.rectangle.getUpperLeft().getX(), this.rectangle.getUpperLeft().getY());
+    }
+
+    /**
+     * function name: drawOn
+     * Function Operation: draws the paddle at the given part of the way from its place before the last step
+     * to its current place.
+     *
+     * @param d     - the given draw surface on which the paddle should be drawn
+     * @param alpha - the part of the way, from 0 to 1
+     */
+    public void drawOn(DrawSurface d, double alpha) {
+        if (this.previousRectangle == null) {
+            this.drawOn(d);
+            return;
+        }
+        Point before = this.previousRectangle.getUpperLeft();
+        Point now = this.rectangle.getUpperLeft();
+        this.drawRectangle(d, before.getX() + (now.getX() - before.getX()) * alpha,
+                before.getY() + (now.getY() - before.getY()) * alpha);
+    }
+
+    /**
+     * function name: drawRectangle
+     * Function Operation: draws the paddle's rectangle, with its color and black borders, at the given place.
+     *
+     * @param d - the given draw surface on which the paddle should be drawn
+     * @param x - x value of the upper left corner
+     * @param y - y value of the upper left corner
+     */
+    private void drawRectangle(DrawSurface d, double x, double y) {
+        int i1 = (int) x;
+        int i2 = (int) y;
         int i3 = (int) this.rectangle.getWidth();
         int i4 = (int) this.rectangle.getHeight();
         d.setColor(this.color);
@@ -125,6 +162,21 @@ public class Paddle implements Sprite, Collidable {
         d.drawRectangle(i1, i2, i3, i4); //draw black borders around the filled rectangle
     }
 
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns a paddle with the current rectangle (a moving paddle gets a new rectangle,
+     * so the rectangle is not changed) and color, that is never moved. it keeps the rectangle before the last
+     * step, so it can be drawn between them.
+     *
+     * @return the snapshot
+     */
+    public Sprite snapshot() {
+        Paddle paddle = new Paddle(this.rectangle, this.color, this.paddleSpeed);
+        paddle.previousRectangle = this.previousRectangle;
+        return paddle;
+    }
+
     /**
      * function name: getCollisionRectangle
      * Function Operation: getter for this paddle's rectangle.
@@ -139,49 +191,37 @@ public class Paddle implements Sprite, Collidable {
      * .
      * function name: hit
      * Function Operation: Collidable's interface method. activated with a collision between the paddle and a ball
-     * was found. the paddle being divided to 5 parts: every hit change the ball's velocity according to the
-     * hitting spot.
+     * was found. a hit on the upper face: the paddle being divided to 5 parts, and the ball's velocity is set
+     * according to the hitting part. a hit on any other face reflects the ball according to the face's normal.
      *
-     * @param collisionPoint  - the collision point the two lines
+     * @param collision       - the information about the collision (point, time and face normal)
      * @param currentVelocity - the current ball's velocity
      * @param hitter          - the Ball the hit the Paddle
      * @return currentVelocity - a new Velocity, after the change because of the hit.
      */
-    public Velocity hit(Ball hitter, Point collisionPoint, Velocity currentVelocity) {
-        double div = this.rectangle.getWidth() / 5; //divide the paddle to 5 parts
-        double startP = this.rectangle.getUpperLeft().getX();
-        double speed = Math.sqrt(Math.pow(currentVelocity.getDx(), 2) + Math.pow(currentVelocity.getDy(), 2));
-        if (collisionPoint.getX() >= startP && collisionPoint.getX() < startP + div) { //strong left Reg 1
-            currentVelocity = Velocity.fromAngleAndSpeed(300, speed);
-        }
-        if (collisionPoint.getX() >= startP + div && collisionPoint.getX() <= startP + (2 * div)) { //little left
-            currentVelocity = Velocity.fromAngleAndSpeed(330, speed);
-        }
-        if (collisionPoint.getX() > startP + (2 * div) && collisionPoint.getX() < startP + (3 * div)) { // middle Reg 3
-            //currentVelocity = new Velocity(currentVelocity.getDx(), currentVelocity.getDy() * (-1)); //change direct
-            currentVelocity = Velocity.fromAngleAndSpeed(360, speed);
-        }
-        if (collisionPoint.getX() >= startP + (3 * div) && collisionPoint.getX() <= startP + (4 * div)) { //little right
-            currentVelocity = Velocity.fromAngleAndSpeed(30, speed);
-        }
-        if (collisionPoint.getX() > startP + (4 * div) && collisionPoint.getX() <= startP + (5 * div)) { //strong left
-            currentVelocity = Velocity.fromAngleAndSpeed(60, speed);
+    public Velocity hit(Ball hitter, CollisionInfo collision, Velocity currentVelocity) {
+        if (collision.normalY() >= 0) { // side or lower face
+            return currentVelocity.reflect(collision.normalX(), collision.normalY());
         }
-        return currentVelocity;
+        double div = this.rectangle.getWidth() / REGION_ANGLES.length; //divide the paddle to 5 parts
+        int region = (int) ((collision.collisionPoint().getX() - this.rectangle.getUpperLeft().getX()) / div);
+        region = Math.max(0, Math.min(REGION_ANGLES.length - 1, region));
+        double speed = Math.sqrt(Math.pow(currentVelocity.getDx(), 2) + Math.pow(currentVelocity.getDy(), 2));
+        return Velocity.fromAngleAndSpeed(REGION_ANGLES[region], speed);
     }
 
     /**
      * .
      * function name: addToGame
-     * Function Operation: add the paddle to the game: to the sprites collection and to the sprites
-     * collection
+     * Function Operation: add the paddle to the game: to the sprites collection and to the moving
+     * collidables collection
      *
      * @param g - the game object that owns the sprites and collidables collection
      */
     public void addToGame(GameLevel g) {
-        this.keyboard = g.getGui().getKeyboardSensor();
+        this.keyboard = g.getKeyboard();
         g.addSprite(this);
-        g.addCollidable(this);
+        g.addMovingCollidable(this);
         this.movementLine = new Line(new Point(borderBlockSize, this.rectangle.getUpperLeft().getY()),
                 new Point(screenWidth - borderBlockSize, this.rectangle.getUpperLeft().getY()));
     }
@@ -198,5 +238,19 @@ public class Paddle implements Sprite, Collidable {
         this.rectangle = new Rectangle(
                 new Point(400 - info.paddleWidth() / 2, 570),
                 info.paddleWidth(), 20);
+        this.previousRectangle = null; // jumps, not moved through the way
+    }
+
+    /**
+     * .
+     * function name: moveTo
+     * Function Operation: sets the paddle's upper left corner to the given place (its size is kept).
+     *
+     * @param x - x value of the upper left corner
+     * @param y - y value of the upper left corner
+     */
+    public void moveTo(double x, double y) {
+        this.rectangle = new Rectangle(new Point(x, y), this.rectangle.getWidth(), this.rectangle.getHeight());
+        this.previousRectangle = null; // jumps, not moved through the way
     }
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package sprites;
 
 import animation.GameLevel;
 import biuoop.DrawSurface;
+import interfaces.SnapshotSprite;
 import interfaces.Sprite;
 import others.Counter;
 
@@ -14,7 +15,7 @@ import java.awt.Color;
  * class operation: Sprite sits on the top of the screen and shows
  * player his score
  */
-public class ScoreIndicator implements Sprite {
+public class ScoreIndicator implements SnapshotSprite {
     private Counter score;
 
     /**
@@ -46,6 +47,19 @@ public class ScoreIndicator implements Sprite {
         d.drawText(350, 15, "Score: " + s, 15);
     }
 
+    /**
+     * .
+     * function name: snapshot
+     * Function Operation: returns an indicator of the current score, that does not change.
+     *
+     * @return the snapshot
+     */
+    public Sprite snapshot() {
+        Counter value = new Counter();
+        value.increase(this.score.getValue());
+        return new ScoreIndicator(value);
+    }
+
     /**
      * .
      * function name: timePassed
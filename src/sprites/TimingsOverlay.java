@@ -0,0 +1,87 @@
+package sprites;
+
+import animation.GameLevel;
+import biuoop.DrawSurface;
+import biuoop.KeyboardSensor;
+import interfaces.Sprite;
+import others.FrameTimings;
+
+import java.awt.Color;
+
+/**
+ * .
+ * author: Eyal Styskin
+ * Class name: TimingsOverlay
+ * class operation: Sprite that shows the live frame timings (p50, p99 and max of every phase) in the lower
+ * left corner of the screen. pressing the toggle key shows or hides it (it starts hidden).
+ * the timings are read without locks, so the overlay can be drawn as it is by a render thread.
+ */
+public class TimingsOverlay implements Sprite {
+    private static final int LINE_HEIGHT = 14;
+    private FrameTimings timings;
+    private KeyboardSensor keyboard;
+    private String toggleKey;
+    private volatile boolean visible; // toggled by the game, read by the render thread
+    private boolean wasPressed;
+
+    /**
+     * .
+     * Function Operation: Constructor - sets the timings to show and the key that toggles them.
+     *
+     * @param timings   - the timings of the runner
+     * @param keyboard  - the keyboard to read the toggle key from
+     * @param toggleKey - the key that shows or hides the overlay
+     */
+    public TimingsOverlay(FrameTimings timings, KeyboardSensor keyboard, String toggleKey) {
+        this.timings = timings;
+        this.keyboard = keyboard;
+        this.toggleKey = toggleKey;
+    }
+
+    /**
+     * .
+     * function name: drawOn
+     * Function Operation: if visible, draws a line of timings for every phase on a black box.
+     *
+     * @param d - the surface to draw on
+     */
+    public void drawOn(DrawSurface d) {
+        if (!this.visible) {
+            return;
+        }
+        int height = LINE_HEIGHT * this.timings.size() + 6;
+        int top = d.getHeight() - 30 - height;
+        d.setColor(Color.BLACK);
+        d.fillRectangle(10, top, 430, height);
+        d.setColor(Color.GREEN);
+        for (int i = 0; i < this.timings.size(); ++i) {
+            d.drawText(15, top + LINE_HEIGHT * (i + 1), this.timings.describe(i), 12);
+        }
+    }
+
+    /**
+     * .
+     * function name: timePassed
+     * Function Operation: shows or hides the overlay when the toggle key is pressed (once per press).
+     * @param dt - does nothing
+     */
+    public void timePassed(double dt) {
+        boolean pressed = this.keyboard.isPressed(this.toggleKey);
+        if (pressed && !this.wasPressed) {
+            this.visible = !this.visible;
+        }
+        this.wasPressed = pressed;
+    }
+
+    /**
+     * .
+     * function name: addToGame
+     * Function Operation: adds this TimingsOverlay Sprite to the game
+     * (to the SpritesCollection)
+     *
+     * @param g - the game animation
+     */
+    public void addToGame(GameLevel g) {
+        g.addSprite(this);
+    }
+}